@@ -24,8 +24,14 @@
 
 package io.github.emilyydev.emmyson.data;
 
+import io.github.emilyydev.emmyson.io.Compression;
+import io.github.emilyydev.emmyson.io.JsonGenerator;
+import io.github.emilyydev.emmyson.io.JsonLinesWriter;
 import io.github.emilyydev.emmyson.io.JsonReader;
+import io.github.emilyydev.emmyson.io.JsonShape;
+import io.github.emilyydev.emmyson.io.JsonSubscriber;
 import io.github.emilyydev.emmyson.io.JsonWriter;
+import io.github.emilyydev.emmyson.io.WriterOptions;
 import io.github.emilyydev.emmyson.util.Throwing;
 import io.github.emilyydev.emmyson.util.Try;
 import org.jetbrains.annotations.NotNull;
@@ -35,11 +41,17 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Flow;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -84,6 +96,21 @@ public interface DataFactory {
    */
   <T extends JsonData> Try<T> read(String json, DataType<T> type);
 
+  /**
+   * Attempts to read serialized json from the given string as the provided data type, predicting the fields of its
+   * objects according to the given shape.
+   *
+   * @param json  the json string to attempt to read
+   * @param shape the expected shape of the objects in the json
+   * @param type  the expected data type the serialized data will be attempted to be read as
+   * @param <T>   the expected java class representing the deserialized data type
+   * @return a {@link Try} object. If the data was parsed and read successfully, it will be a {@code Success} and will
+   * contain a value of type {@code T} according to the provided {@code type}. Else it will be a {@code Failure},
+   * storing the exception at the moment of failure
+   * @see #shapeOf(CharSequence...)
+   */
+  <T extends JsonData> Try<T> read(String json, JsonShape shape, DataType<T> type);
+
   /**
    * Attempts to read json from the given file as the provided data type.
    *
@@ -150,6 +177,196 @@ public interface DataFactory {
    */
   <T extends JsonData> Try<T> read(Readable in, DataType<T> type);
 
+  /**
+   * Attempts to read UTF-8 encoded json from the remaining bytes of the given buffer as the provided data type.
+   * <p>
+   * Only the bytes between the buffer's position and its limit are read, the buffer's position is advanced past the
+   * consumed json. Both heap and direct buffers are read in place, without copying their contents.
+   * </p>
+   *
+   * @param in   the buffer containing the json to attempt to read
+   * @param type the expected data type the serialized data will be attempted to be read as
+   * @param <T>  the expected java class representing the deserialized data type
+   * @return a {@link Try} object. If the data was parsed and read successfully, it will be a {@code Success} and will
+   * contain a value of type {@code T} according to the provided {@code type}. Else it will be a {@code Failure},
+   * storing the exception at the moment of failure
+   * @see Try#isSuccess()
+   * @see Try#isFailure()
+   * @see Try#fold(Function, Throwing.Function)
+   */
+  <T extends JsonData> Try<T> read(ByteBuffer in, DataType<T> type);
+
+  /**
+   * Attempts to read UTF-8 encoded json from the remaining bytes of the given buffer as the provided data type,
+   * predicting the fields of its objects according to the given shape.
+   *
+   * @param in    the buffer containing the json to attempt to read
+   * @param shape the expected shape of the objects in the json
+   * @param type  the expected data type the serialized data will be attempted to be read as
+   * @param <T>   the expected java class representing the deserialized data type
+   * @return a {@link Try} object. If the data was parsed and read successfully, it will be a {@code Success} and will
+   * contain a value of type {@code T} according to the provided {@code type}. Else it will be a {@code Failure},
+   * storing the exception at the moment of failure
+   * @see #shapeOf(CharSequence...)
+   */
+  <T extends JsonData> Try<T> read(ByteBuffer in, JsonShape shape, DataType<T> type);
+
+  /**
+   * Attempts to read compressed json from the file pointed by the given path as the provided data type.
+   * <p>
+   * Decompression happens on a background thread, concurrently with parsing.
+   * </p>
+   *
+   * @param path        the path of the compressed file to read
+   * @param compression the compression format of the file
+   * @param type        the expected data type the serialized data will be attempted to be read as
+   * @param <T>         the expected java class representing the deserialized data type
+   * @return a {@link Try} object. If the data was parsed and read successfully, it will be a {@code Success} and will
+   * contain a value of type {@code T} according to the provided {@code type}. Else it will be a {@code Failure},
+   * storing the exception at the moment of failure
+   * @see Try#isSuccess()
+   * @see Try#isFailure()
+   * @see Try#fold(Function, Throwing.Function)
+   */
+  <T extends JsonData> Try<T> read(Path path, Compression compression, DataType<T> type);
+
+  /**
+   * Attempts to read compressed json from the given input stream as the provided data type.
+   * <p>
+   * Decompression happens on a background thread, concurrently with parsing. The provided input stream will
+   * <b>not</b> be closed by EmmySON, and it's no longer read from once this method returns.
+   * </p>
+   *
+   * @param in          the input stream providing the compressed json
+   * @param compression the compression format of the data provided by the input stream
+   * @param type        the expected data type the serialized data will be attempted to be read as
+   * @param <T>         the expected java class representing the deserialized data type
+   * @return a {@link Try} object. If the data was parsed and read successfully, it will be a {@code Success} and will
+   * contain a value of type {@code T} according to the provided {@code type}. Else it will be a {@code Failure},
+   * storing the exception at the moment of failure
+   * @see Try#isSuccess()
+   * @see Try#isFailure()
+   * @see Try#fold(Function, Throwing.Function)
+   */
+  <T extends JsonData> Try<T> read(InputStream in, Compression compression, DataType<T> type);
+
+  /**
+   * Attempts to read a json array of numbers from the given string straight into a primitive array.
+   * <p>
+   * No json data is created for the elements, every element must be an integral number that fits in an
+   * {@code int}.
+   * </p>
+   *
+   * @param json the json string to attempt to read
+   * @return a {@link Try} object. If the array was parsed and read successfully, it will be a {@code Success}
+   * containing the read values. Else it will be a {@code Failure}, storing the exception at the moment of failure
+   */
+  Try<int[]> readIntArray(String json);
+
+  /**
+   * Attempts to read a json array of numbers from the given input stream straight into a primitive array.
+   * <p>
+   * No json data is created for the elements, every element must be an integral number that fits in an
+   * {@code int}.
+   * </p>
+   *
+   * @param in the input stream providing the json to read
+   * @return a {@link Try} object. If the array was parsed and read successfully, it will be a {@code Success}
+   * containing the read values. Else it will be a {@code Failure}, storing the exception at the moment of failure
+   */
+  Try<int[]> readIntArray(InputStream in);
+
+  /**
+   * Attempts to read a json array of numbers from the remaining bytes of the given buffer into a primitive array.
+   * <p>
+   * No json data is created for the elements, every element must be an integral number that fits in an
+   * {@code int}.
+   * </p>
+   *
+   * @param in the buffer containing the json to read
+   * @return a {@link Try} object. If the array was parsed and read successfully, it will be a {@code Success}
+   * containing the read values. Else it will be a {@code Failure}, storing the exception at the moment of failure
+   */
+  Try<int[]> readIntArray(ByteBuffer in);
+
+  /**
+   * Attempts to read a json array of numbers from the given string straight into a primitive array.
+   * <p>
+   * No json data is created for the elements, every element must be an integral number that fits in a
+   * {@code long}.
+   * </p>
+   *
+   * @param json the json string to attempt to read
+   * @return a {@link Try} object. If the array was parsed and read successfully, it will be a {@code Success}
+   * containing the read values. Else it will be a {@code Failure}, storing the exception at the moment of failure
+   */
+  Try<long[]> readLongArray(String json);
+
+  /**
+   * Attempts to read a json array of numbers from the given input stream straight into a primitive array.
+   * <p>
+   * No json data is created for the elements, every element must be an integral number that fits in a
+   * {@code long}.
+   * </p>
+   *
+   * @param in the input stream providing the json to read
+   * @return a {@link Try} object. If the array was parsed and read successfully, it will be a {@code Success}
+   * containing the read values. Else it will be a {@code Failure}, storing the exception at the moment of failure
+   */
+  Try<long[]> readLongArray(InputStream in);
+
+  /**
+   * Attempts to read a json array of numbers from the remaining bytes of the given buffer into a primitive array.
+   * <p>
+   * No json data is created for the elements, every element must be an integral number that fits in a
+   * {@code long}.
+   * </p>
+   *
+   * @param in the buffer containing the json to read
+   * @return a {@link Try} object. If the array was parsed and read successfully, it will be a {@code Success}
+   * containing the read values. Else it will be a {@code Failure}, storing the exception at the moment of failure
+   */
+  Try<long[]> readLongArray(ByteBuffer in);
+
+  /**
+   * Attempts to read a json array of numbers from the given string straight into a primitive array.
+   * <p>
+   * No json data is created for the elements, every element must be a number and is converted to the closest
+   * {@code double}.
+   * </p>
+   *
+   * @param json the json string to attempt to read
+   * @return a {@link Try} object. If the array was parsed and read successfully, it will be a {@code Success}
+   * containing the read values. Else it will be a {@code Failure}, storing the exception at the moment of failure
+   */
+  Try<double[]> readDoubleArray(String json);
+
+  /**
+   * Attempts to read a json array of numbers from the given input stream straight into a primitive array.
+   * <p>
+   * No json data is created for the elements, every element must be a number and is converted to the closest
+   * {@code double}.
+   * </p>
+   *
+   * @param in the input stream providing the json to read
+   * @return a {@link Try} object. If the array was parsed and read successfully, it will be a {@code Success}
+   * containing the read values. Else it will be a {@code Failure}, storing the exception at the moment of failure
+   */
+  Try<double[]> readDoubleArray(InputStream in);
+
+  /**
+   * Attempts to read a json array of numbers from the remaining bytes of the given buffer into a primitive array.
+   * <p>
+   * No json data is created for the elements, every element must be a number and is converted to the closest
+   * {@code double}.
+   * </p>
+   *
+   * @param in the buffer containing the json to read
+   * @return a {@link Try} object. If the array was parsed and read successfully, it will be a {@code Success}
+   * containing the read values. Else it will be a {@code Failure}, storing the exception at the moment of failure
+   */
+  Try<double[]> readDoubleArray(ByteBuffer in);
+
   /**
    * Creates a new json reader to parse the serialized json in the given string.
    *
@@ -159,6 +376,18 @@ public interface DataFactory {
    */
   JsonReader createReader(String json) throws IOException;
 
+  /**
+   * Creates a new json reader to parse the serialized json in the given string, predicting the fields of its objects
+   * according to the given shape.
+   *
+   * @param json  the serialized json data to parse
+   * @param shape the expected shape of the objects in the json
+   * @return a new reader to parse the provided string
+   * @throws IOException if any kind of IO error occurs
+   * @see #shapeOf(CharSequence...)
+   */
+  JsonReader createReader(String json, JsonShape shape) throws IOException;
+
   /**
    * Creates a new json reader to parse the json in the given file.
    *
@@ -186,6 +415,20 @@ public interface DataFactory {
    */
   JsonReader createReader(InputStream in) throws IOException;
 
+  /**
+   * Creates a new json reader to parse the compressed json provided by the given input stream.
+   * <p>
+   * Decompression happens on a background thread, concurrently with parsing. The input stream isn't closed when the
+   * reader is closed, but closing the reader waits until the background thread has stopped reading from it.
+   * </p>
+   *
+   * @param in          the input stream providing the compressed json data to parse
+   * @param compression the compression format of the data provided by the input stream
+   * @return a new reader to parse the decompressed data provided by the input stream
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonReader createReader(InputStream in, Compression compression) throws IOException;
+
   /**
    * Creates a new json reader to parse the json from the given readable source.
    *
@@ -195,6 +438,63 @@ public interface DataFactory {
    */
   JsonReader createReader(Readable in) throws IOException;
 
+  /**
+   * Creates a new json reader to parse the UTF-8 encoded json in the remaining bytes of the given buffer.
+   * <p>
+   * The buffer's position is advanced past the consumed json once the reader is closed.
+   * </p>
+   *
+   * @param in the buffer containing the json to parse
+   * @return a new reader to parse the remaining contents of the given buffer
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonReader createReader(ByteBuffer in) throws IOException;
+
+  /**
+   * Creates a new json reader to parse the UTF-8 encoded json in the remaining bytes of the given buffer, predicting
+   * the fields of its objects according to the given shape.
+   *
+   * @param in    the buffer containing the json to parse
+   * @param shape the expected shape of the objects in the json
+   * @return a new reader to parse the remaining contents of the given buffer
+   * @throws IOException if any kind of IO error occurs
+   * @see #shapeOf(CharSequence...)
+   */
+  JsonReader createReader(ByteBuffer in, JsonShape shape) throws IOException;
+
+  /**
+   * Creates a new subscriber that parses the UTF-8 encoded json it receives in chunks as they arrive, without blocking.
+   * The elements or members of a top level array or object are parsed as soon as each of them is complete, so only the
+   * bytes of the one being received are kept.
+   *
+   * @return a new subscriber to subscribe to a publisher of encoded json
+   * @see JsonSubscriber#result()
+   */
+  JsonSubscriber createSubscriber();
+
+  /**
+   * Creates a publisher of the elements of the top level array of the UTF-8 encoded json published by the given
+   * publisher, each one published as soon as it's been parsed. Chunks are only requested while elements are demanded.
+   * <p>
+   * Each subscriber subscribes to the given publisher on its own. Subscribers are signalled an error if the json is
+   * malformed or if it isn't an array.
+   * </p>
+   *
+   * @param in the publisher of chunks of encoded json
+   * @return a publisher of the elements of the array
+   */
+  Flow.Publisher<JsonData> readElements(Flow.Publisher<ByteBuffer> in);
+
+  /**
+   * Creates a shape for json objects with the given field names, in the order they're expected to appear. Shapes are
+   * meant to be created once and reused for every read of the same kind of document.
+   *
+   * @param names the field names of the shape, in order
+   * @return a new shape to read objects with the given field names
+   * @throws IllegalArgumentException if any name is repeated
+   */
+  JsonShape shapeOf(CharSequence... names);
+
   /**
    * @param file
    * @param data
@@ -216,6 +516,35 @@ public interface DataFactory {
    */
   Optional<IOException> write(OutputStream out, JsonData data);
 
+  /**
+   * Writes the given json data compressed to the file pointed by the given path.
+   * <p>
+   * Compression happens on a background thread, concurrently with serialization.
+   * </p>
+   *
+   * @param path        the path of the file to write the compressed json to
+   * @param compression the compression format to write the file with
+   * @param data        the json data to write
+   * @return an empty optional if the data was written successfully, or an optional containing the exception at the
+   * moment of failure
+   */
+  Optional<IOException> write(Path path, Compression compression, JsonData data);
+
+  /**
+   * Writes the given json data compressed to the given output stream.
+   * <p>
+   * Compression happens on a background thread, concurrently with serialization. The output stream is closed once
+   * the compressed data is complete.
+   * </p>
+   *
+   * @param out         the output stream to write the compressed json to
+   * @param compression the compression format to write the data with
+   * @param data        the json data to write
+   * @return an empty optional if the data was written successfully, or an optional containing the exception at the
+   * moment of failure
+   */
+  Optional<IOException> write(OutputStream out, Compression compression, JsonData data);
+
   /**
    * @param out
    * @param data
@@ -223,6 +552,30 @@ public interface DataFactory {
    */
   Optional<IOException> write(Appendable out, JsonData data);
 
+  /**
+   * Writes the given json data UTF-8 encoded into the given buffer, starting at its position.
+   * <p>
+   * If the data doesn't fit in the remaining space of the buffer, the buffer's position is left untouched and an
+   * exception is returned.
+   * </p>
+   *
+   * @param out  the buffer to write the json to
+   * @param data the json data to write
+   * @return an empty optional if the data was written successfully, or an optional containing the exception at the
+   * moment of failure
+   */
+  Optional<IOException> write(ByteBuffer out, JsonData data);
+
+  /**
+   * Writes the given json data UTF-8 encoded to the given channel.
+   *
+   * @param out  the channel to write the json to
+   * @param data the json data to write
+   * @return an empty optional if the data was written successfully, or an optional containing the exception at the
+   * moment of failure
+   */
+  Optional<IOException> write(WritableByteChannel out, JsonData data);
+
   /**
    * @param file
    * @return
@@ -244,6 +597,48 @@ public interface DataFactory {
    */
   JsonWriter createWriter(OutputStream out) throws IOException;
 
+  /**
+   * Creates a new json writer that writes compressed json to the given output stream.
+   * <p>
+   * Compression happens on a background thread, concurrently with serialization. The compressed data is only
+   * complete once the writer is closed.
+   * </p>
+   *
+   * @param out         the output stream to write compressed json to
+   * @param compression the compression format to write the data with
+   * @return a new writer writing to the given output stream
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonWriter createWriter(OutputStream out, Compression compression) throws IOException;
+
+  /**
+   * Creates a new json writer that writes UTF-8 encoded json to the given output stream from a dedicated background
+   * thread, so that serialization goes on while previous output is being written.
+   * <p>
+   * Only a bounded amount of output is kept in flight, once it's reached the writer blocks until the stream catches
+   * up. Failures writing to the stream are rethrown on the next write, flush or close. Flushing waits until everything
+   * written so far reached the stream.
+   * </p>
+   *
+   * @param out the output stream to write json to
+   * @return a new writer writing to the given output stream in the background
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonWriter createAsyncWriter(OutputStream out) throws IOException;
+
+  /**
+   * Creates a new json writer that writes UTF-8 encoded json to the given output stream from a task run by the given
+   * executor, so that serialization goes on while previous output is being written. The task runs until the writer is
+   * closed.
+   *
+   * @param out      the output stream to write json to
+   * @param executor the executor to run the task writing to the stream with
+   * @return a new writer writing to the given output stream in the background
+   * @throws IOException if any kind of IO error occurs
+   * @see #createAsyncWriter(OutputStream)
+   */
+  JsonWriter createAsyncWriter(OutputStream out, Executor executor) throws IOException;
+
   /**
    * @param out
    * @return
@@ -251,6 +646,209 @@ public interface DataFactory {
    */
   JsonWriter createWriter(Appendable out) throws IOException;
 
+  /**
+   * Creates a new json writer that encodes straight into the given buffer, starting at its position.
+   *
+   * @param out the buffer to write json to
+   * @return a new writer writing into the given buffer
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonWriter createWriter(ByteBuffer out) throws IOException;
+
+  /**
+   * Creates a new json writer that writes UTF-8 encoded json to the given channel.
+   *
+   * @param out the channel to write json to
+   * @return a new writer writing to the given channel
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonWriter createWriter(WritableByteChannel out) throws IOException;
+
+  /**
+   * Writes every value of the given stream to the given output stream as UTF-8 encoded JSON Lines, one value per line.
+   * Values are written in groups through a single buffer and the output stream is closed afterwards.
+   *
+   * @param out   the output stream to write the lines to
+   * @param lines the values to write, one per line
+   * @return an empty {@link Optional} if the lines were written successfully, or an optional containing the exception
+   * thrown when attempting to write them
+   * @see JsonLinesWriter
+   */
+  Optional<IOException> writeLines(OutputStream out, Stream<? extends JsonData> lines);
+
+  /**
+   * Writes every value of the given stream to the given file as UTF-8 encoded JSON Lines, one value per line. The file
+   * is created if it doesn't exist and truncated otherwise.
+   *
+   * @param path  the file to write the lines to
+   * @param lines the values to write, one per line
+   * @return an empty {@link Optional} if the lines were written successfully, or an optional containing the exception
+   * thrown when attempting to write them
+   * @see JsonLinesWriter
+   */
+  Optional<IOException> writeLines(Path path, Stream<? extends JsonData> lines);
+
+  /**
+   * Creates a new JSON Lines writer that writes UTF-8 encoded lines to the given output stream in groups.
+   * <p>
+   * Groups written because of the delay are written by a single thread shared by every lines writer created this way,
+   * and the writer can't be appended to while its group is being written. A stream that's slow to write to delays the
+   * groups of every other such writer, use {@link #createLinesWriter(OutputStream, int, Duration,
+   * ScheduledExecutorService)} to write them from a different executor instead.
+   * </p>
+   *
+   * @param out        the output stream to write lines to
+   * @param groupBytes how many bytes of lines are buffered before they're written
+   * @param groupDelay how long a line is buffered at most before it's written, or {@link java.time.Duration#ZERO} to
+   *                   only write lines once enough of them are buffered or the writer is flushed
+   * @return a new lines writer writing to the given output stream
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonLinesWriter createLinesWriter(OutputStream out, int groupBytes, Duration groupDelay) throws IOException;
+
+  /**
+   * Creates a new JSON Lines writer that writes UTF-8 encoded lines to the given output stream in groups, writing the
+   * groups that waited for the delay from tasks scheduled on the given executor.
+   *
+   * @param out        the output stream to write lines to
+   * @param groupBytes how many bytes of lines are buffered before they're written
+   * @param groupDelay how long a line is buffered at most before it's written, or {@link java.time.Duration#ZERO} to
+   *                   only write lines once enough of them are buffered or the writer is flushed
+   * @param executor   the executor to schedule the writing of delayed groups with
+   * @return a new lines writer writing to the given output stream
+   * @throws IOException if any kind of IO error occurs
+   * @see #createLinesWriter(OutputStream, int, Duration)
+   */
+  JsonLinesWriter createLinesWriter(
+      OutputStream out,
+      int groupBytes,
+      Duration groupDelay,
+      ScheduledExecutorService executor
+  ) throws IOException;
+
+  /**
+   * Creates a new JSON Lines writer that appends UTF-8 encoded lines to the given file in groups. The file is created
+   * if it doesn't exist. Groups are written just like {@link #createLinesWriter(OutputStream, int, Duration)} does.
+   *
+   * @param path       the file to append lines to
+   * @param groupBytes how many bytes of lines are buffered before they're written
+   * @param groupDelay how long a line is buffered at most before it's written, or {@link java.time.Duration#ZERO} to
+   *                   only write lines once enough of them are buffered or the writer is flushed
+   * @return a new lines writer appending to the given file
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonLinesWriter createLinesWriter(Path path, int groupBytes, Duration groupDelay) throws IOException;
+
+  /**
+   * Creates a publisher of the given data as UTF-8 encoded json, split in chunks of bounded size. Every subscriber
+   * receives all of it, and serialization only goes as far as each subscriber has requested chunks, so nothing but the
+   * chunk being filled is kept in memory.
+   *
+   * @param jsonData the data to publish
+   * @return a publisher of the encoded data
+   */
+  Flow.Publisher<ByteBuffer> publish(JsonData jsonData);
+
+  /**
+   * Creates a publisher of the values of the given stream as a single UTF-8 encoded json array, split in chunks of
+   * bounded size. Values are only taken from the stream as chunks are requested, and since streams can only be
+   * consumed once, the publisher only accepts a single subscriber.
+   *
+   * @param values the values to publish as the elements of an array
+   * @return a publisher of the encoded array
+   */
+  Flow.Publisher<ByteBuffer> publishArray(Stream<? extends JsonData> values);
+
+  /**
+   * Creates a publisher of the values of the given stream as UTF-8 encoded JSON Lines, one value per line, split in
+   * chunks of bounded size. Values are only taken from the stream as chunks are requested, and since streams can only
+   * be consumed once, the publisher only accepts a single subscriber.
+   *
+   * @param lines the values to publish, one per line
+   * @return a publisher of the encoded lines
+   */
+  Flow.Publisher<ByteBuffer> publishLines(Stream<? extends JsonData> lines);
+
+  /**
+   * Creates a new json generator that writes UTF-8 encoded json to the given output stream as it's generated.
+   *
+   * @param out the output stream to write json to
+   * @return a new generator writing to the given output stream
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonGenerator createGenerator(OutputStream out) throws IOException;
+
+  /**
+   * Creates a new json generator that appends json to the given appendable as it's generated.
+   *
+   * @param out the appendable to write json to
+   * @return a new generator writing to the given appendable
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonGenerator createGenerator(Appendable out) throws IOException;
+
+  /**
+   * Creates a new json generator that writes UTF-8 encoded json to the given channel as it's generated.
+   *
+   * @param out the channel to write json to
+   * @return a new generator writing to the given channel
+   * @throws IOException if any kind of IO error occurs
+   */
+  JsonGenerator createGenerator(WritableByteChannel out) throws IOException;
+
+  /**
+   * Gets the options every writer created by this factory escapes strings with.
+   *
+   * @return the writer options of this factory
+   */
+  WriterOptions writerOptions();
+
+  /**
+   * Creates a data factory identical to this one, except that every writer it creates escapes strings according to the
+   * given options. This factory is left unchanged.
+   *
+   * @param options the options writers created by the returned factory escape strings with
+   * @return a data factory creating writers with the given options
+   * @see WriterOptions#minimal()
+   */
+  DataFactory withWriterOptions(WriterOptions options);
+
+  /**
+   * Computes the exact number of bytes of the UTF-8 encoded json the writers created by this factory write for the
+   * given data, without writing it. This is also an upper bound for the number of characters they write.
+   * <p>
+   * Implementations may cache the length of immutable data, so computing it again for the same data is cheap.
+   * </p>
+   *
+   * @param jsonData the data to compute the serialized length of
+   * @return the number of bytes the given data takes when written
+   */
+  long serializedLength(JsonData jsonData);
+
+  /**
+   * Writes the given data into a new string.
+   * <p>
+   * Implementations are encouraged to reuse the memory they write into between calls from the same thread, so this is
+   * preferred over writing into a {@link StringBuilder} and converting it afterwards.
+   * </p>
+   *
+   * @param jsonData the data to write
+   * @return the serialized json
+   */
+  String writeToString(JsonData jsonData);
+
+  /**
+   * Writes the given data into a new byte array, UTF-8 encoded.
+   * <p>
+   * Implementations are encouraged to reuse the memory they write into between calls from the same thread, so this is
+   * preferred over writing into a {@link java.io.ByteArrayOutputStream} and copying it afterwards.
+   * </p>
+   *
+   * @param jsonData the data to write
+   * @return the UTF-8 encoded json
+   */
+  byte[] writeToBytes(JsonData jsonData);
+
   /**
    * @return
    */
@@ -310,6 +908,28 @@ public interface DataFactory {
    */
   JsonString string(CharSequence str);
 
+  /**
+   * Attempts to create a raw json value holding the given serialized json. The json is validated, but not kept parsed,
+   * and any whitespace between its tokens is dropped.
+   *
+   * @param json the serialized json
+   * @return a {@link Try} object. If the json is valid, it will be a {@code Success} containing the raw json value.
+   * Else it will be a {@code Failure}, storing the exception at the moment of failure
+   * @see JsonRaw
+   */
+  Try<JsonRaw> raw(CharSequence json);
+
+  /**
+   * Attempts to create a raw json value holding the UTF-8 encoded json in the remaining bytes of the given buffer. The
+   * json is validated, but not kept parsed, and any whitespace between its tokens is dropped.
+   *
+   * @param json the buffer containing the serialized json
+   * @return a {@link Try} object. If the json is valid, it will be a {@code Success} containing the raw json value.
+   * Else it will be a {@code Failure}, storing the exception at the moment of failure
+   * @see JsonRaw
+   */
+  Try<JsonRaw> raw(ByteBuffer json);
+
   /**
    * @return an empty {@link JsonArray}
    */
@@ -339,6 +959,22 @@ public interface DataFactory {
    */
   JsonArray arrayOf(Stream<? extends @Nullable JsonData> elements);
 
+  /**
+   * Returns a new builder of a {@link JsonArray}, cheaper than appending elements to an array one at a time.
+   *
+   * @return a new {@link JsonArray.Builder}
+   */
+  JsonArray.Builder arrayBuilder();
+
+  /**
+   * Returns a new builder of a {@link JsonArray} with room for the given number of elements.
+   *
+   * @param expectedSize the number of elements expected to be appended
+   * @return a new {@link JsonArray.Builder}
+   * @throws IllegalArgumentException if the expected size is negative
+   */
+  JsonArray.Builder arrayBuilder(int expectedSize);
+
   /**
    * @return an empty {@link JsonObject}
    */
@@ -380,4 +1016,20 @@ public interface DataFactory {
    * @return
    */
   JsonObject objectOf(Map<? extends CharSequence, ? extends @Nullable JsonData> map);
+
+  /**
+   * Returns a new builder of a {@link JsonObject}, cheaper than adding members to an object one at a time.
+   *
+   * @return a new {@link JsonObject.Builder}
+   */
+  JsonObject.Builder objectBuilder();
+
+  /**
+   * Returns a new builder of a {@link JsonObject} with room for the given number of members.
+   *
+   * @param expectedSize the number of members expected to be put
+   * @return a new {@link JsonObject.Builder}
+   * @throws IllegalArgumentException if the expected size is negative
+   */
+  JsonObject.Builder objectBuilder(int expectedSize);
 }
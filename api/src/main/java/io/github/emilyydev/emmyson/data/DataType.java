@@ -75,6 +75,11 @@ public interface DataType<T extends JsonData> extends Examinable, Serializable {
    */
   DataType<JsonObject> OBJECT = type("object", JsonObject.class);
 
+  /**
+   * Data type representing already serialized json values.
+   */
+  DataType<JsonRaw> RAW = type("raw", JsonRaw.class);
+
   /**
    * Creates a new standard data type for json-representable data.
    *
@@ -26,6 +26,7 @@ package io.github.emilyydev.emmyson.data;
 
 import net.kyori.examination.ExaminableProperty;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.Collection;
@@ -190,4 +191,48 @@ public interface JsonArray extends JsonData, IntFunction<JsonData> {
         )
     );
   }
+
+  /**
+   * A mutable accumulator of elements for a {@link JsonArray}, meant to be filled by a single owner and then built
+   * exactly once. Building hands the accumulated elements over to the array without copying them, a builder can't be
+   * used anymore after that.
+   *
+   * @see DataFactory#arrayBuilder()
+   */
+  interface Builder {
+
+    /**
+     * Appends the given element, a {@code null} element is appended as {@link JsonNull}.
+     *
+     * @param element the element to be appended
+     * @return this builder
+     * @throws IllegalStateException if this builder was already built
+     */
+    Builder add(@Nullable JsonData element);
+
+    /**
+     * Appends all the given elements in iteration order, {@code null} elements are appended as {@link JsonNull}.
+     *
+     * @param elements the elements to be appended
+     * @return this builder
+     * @throws NullPointerException if the collection is null
+     * @throws IllegalStateException if this builder was already built
+     */
+    Builder addAll(Collection<? extends @Nullable JsonData> elements);
+
+    /**
+     * Returns the number of elements appended so far.
+     *
+     * @return the number of elements appended so far
+     */
+    int size();
+
+    /**
+     * Returns a {@code JsonArray} of the appended elements.
+     *
+     * @return a {@code JsonArray} of the appended elements
+     * @throws IllegalStateException if this builder was already built
+     */
+    JsonArray build();
+  }
 }
@@ -104,4 +104,52 @@ public interface JsonObject extends JsonData, Function<JsonString, JsonData> {
         )
     );
   }
+
+  /**
+   * A mutable accumulator of members for a {@link JsonObject}, meant to be filled by a single owner and then built
+   * exactly once. Members keep the order in which their names were first put, a builder can't be used anymore after
+   * being built.
+   *
+   * @see DataFactory#objectBuilder()
+   */
+  interface Builder {
+
+    /**
+     * Puts the given member, a {@code null} value is put as {@link JsonNull}. Putting a name again replaces its value
+     * but keeps its original position.
+     *
+     * @param name the name of the member
+     * @param value the value of the member
+     * @return this builder
+     * @throws NullPointerException if the name is null
+     * @throws IllegalStateException if this builder was already built
+     */
+    Builder put(JsonString name, @Nullable JsonData value);
+
+    /**
+     * Puts the given member, same as {@link #put(JsonString, JsonData)} with the name as a {@link JsonString}.
+     *
+     * @param name the name of the member
+     * @param value the value of the member
+     * @return this builder
+     * @throws NullPointerException if the name is null
+     * @throws IllegalStateException if this builder was already built
+     */
+    Builder put(CharSequence name, @Nullable JsonData value);
+
+    /**
+     * Returns the number of members put so far, counting names put more than once as many times.
+     *
+     * @return the number of members put so far
+     */
+    int size();
+
+    /**
+     * Returns a {@code JsonObject} of the members put.
+     *
+     * @return a {@code JsonObject} of the members put
+     * @throws IllegalStateException if this builder was already built
+     */
+    JsonObject build();
+  }
 }
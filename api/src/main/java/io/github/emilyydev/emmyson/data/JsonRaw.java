@@ -0,0 +1,101 @@
+//
+// MIT License
+//
+// Copyright (c) 2022 emilyy-dev
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+
+package io.github.emilyydev.emmyson.data;
+
+import io.github.emilyydev.emmyson.util.Try;
+import net.kyori.examination.ExaminableProperty;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+
+/**
+ * A {@link JsonRaw} is a {@link JsonData} that holds an already serialized and validated json value. Whitespace between
+ * tokens is dropped when it's created, so its serialized form never spans multiple lines.
+ * <p>
+ * Writers copy its serialized form verbatim instead of walking and escaping the value again, which makes it suitable
+ * for embedding fragments that are serialized once and written many times. The value is only parsed, once, if it's
+ * needed (i.e. when {@linkplain #as(DataType) mapping} it to any other data type).
+ * </p>
+ * <p>
+ * The serialized form is only copied if it already complies with the writer's
+ * {@linkplain io.github.emilyydev.emmyson.io.WriterOptions options}. If any of its strings contains a character the
+ * options escape, the parsed value is written instead, losing the original formatting.
+ * </p>
+ */
+public interface JsonRaw extends JsonData {
+
+  @Override
+  default DataType<JsonRaw> type() {
+    return DataType.RAW;
+  }
+
+  /**
+   * Gets the serialized json held by this object, without whitespace between tokens.
+   *
+   * @return the serialized json
+   */
+  String json();
+
+  /**
+   * Gets the serialized json held by this object, UTF-8 encoded.
+   *
+   * @return a new read-only buffer containing the UTF-8 encoded json
+   */
+  ByteBuffer utf8();
+
+  /**
+   * Gets the json value held by this object, parsing it the first time it's needed.
+   *
+   * @return the parsed json value
+   */
+  JsonData value();
+
+  /**
+   * Attempts to map this object to the provided type. Types this object isn't mappable to are mapped from the parsed
+   * {@linkplain #value() value} instead.
+   *
+   * @param type the data type to map this object to
+   * @param <T>  the data type to map this object to
+   * @return the resulting {@link Try}. See {@link DataType#map(JsonData)}
+   */
+  @Override
+  default <T extends JsonData> Try<T> as(final DataType<T> type) {
+    return type.predicate().test(this) ? type.map(this) : value().as(type);
+  }
+
+  @Override
+  default @NotNull String examinableName() {
+    return JsonRaw.class.getSimpleName();
+  }
+
+  @Override
+  default @NotNull Stream<? extends ExaminableProperty> examinableProperties() {
+    return Stream.concat(
+        JsonData.super.examinableProperties(),
+        Stream.of(ExaminableProperty.of("json", json()))
+    );
+  }
+}
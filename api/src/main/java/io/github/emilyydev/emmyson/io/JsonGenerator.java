@@ -0,0 +1,57 @@
+//
+// MIT License
+//
+// Copyright (c) 2022 emilyy-dev
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+
+package io.github.emilyydev.emmyson.io;
+
+import io.github.emilyydev.emmyson.data.JsonData;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Writes a single json value piece by piece, as it's generated, without building a {@link JsonData} tree first.
+ * <p>
+ * Every method returns this same generator so calls can be chained. Calls that would result in malformed json (i.e.
+ * ending a structure that wasn't begun, a value in an object without a name first or more than one top-level value)
+ * throw an {@link IllegalStateException}. Non-finite doubles can't be represented in json either and are rejected with
+ * an {@link IllegalArgumentException}.
+ * </p>
+ */
+public interface JsonGenerator extends Closeable, Flushable {
+
+  JsonGenerator beginArray() throws IOException;
+  JsonGenerator endArray() throws IOException;
+  JsonGenerator beginObject() throws IOException;
+  JsonGenerator endObject() throws IOException;
+  JsonGenerator name(CharSequence name) throws IOException;
+
+  JsonGenerator nullValue() throws IOException;
+  JsonGenerator value(boolean b) throws IOException;
+  JsonGenerator value(long l) throws IOException;
+  JsonGenerator value(double d) throws IOException;
+  JsonGenerator value(@Nullable CharSequence str) throws IOException;
+  JsonGenerator value(@Nullable JsonData jsonData) throws IOException;
+}
@@ -0,0 +1,50 @@
+//
+// MIT License
+//
+// Copyright (c) 2022 emilyy-dev
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+
+package io.github.emilyydev.emmyson.io;
+
+import io.github.emilyydev.emmyson.data.JsonData;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Writes json values as lines of text, one value per line, also known as JSON Lines or NDJSON.
+ * <p>
+ * Lines are buffered and written in groups, either when enough of them have been buffered, when the oldest one has been
+ * waiting for long enough or when the writer is explicitly flushed, whichever happens first. Lines writers are safe to
+ * use from many threads at once.
+ * </p>
+ */
+public interface JsonLinesWriter extends Closeable, Flushable {
+
+  /**
+   * Writes the given value as the next line.
+   *
+   * @param jsonData the value to write
+   * @throws IOException if any kind of IO error occurs, including errors flushing previous lines in the background
+   */
+  void append(JsonData jsonData) throws IOException;
+}
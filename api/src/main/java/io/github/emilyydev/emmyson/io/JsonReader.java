@@ -46,4 +46,8 @@ public interface JsonReader extends Closeable {
   JsonString readString() throws IOException;
   JsonArray readArray() throws IOException;
   JsonObject readObject() throws IOException;
+
+  int[] readIntArray() throws IOException;
+  long[] readLongArray() throws IOException;
+  double[] readDoubleArray() throws IOException;
 }
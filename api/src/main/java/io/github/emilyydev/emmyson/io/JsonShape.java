@@ -0,0 +1,48 @@
+//
+// MIT License
+//
+// Copyright (c) 2022 emilyy-dev
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+
+package io.github.emilyydev.emmyson.io;
+
+import java.util.List;
+
+/**
+ * The expected shape of json objects, that is, the names of their fields in the order they're expected to appear.
+ * <p>
+ * Readers created with a shape predict the next field name of every object they read instead of discovering it, and
+ * store the values of objects that match the shape in a fixed layout shared by all of them. Objects that deviate from
+ * the shape in any way (i.e. missing, additional or reordered fields) are still read, just without the benefits of
+ * the prediction.
+ * </p>
+ *
+ * @see io.github.emilyydev.emmyson.data.DataFactory#shapeOf(CharSequence...)
+ */
+public interface JsonShape {
+
+  /**
+   * Gets the names of the fields of this shape, in the order they're expected to appear.
+   *
+   * @return an unmodifiable list of the field names of this shape
+   */
+  List<String> names();
+}
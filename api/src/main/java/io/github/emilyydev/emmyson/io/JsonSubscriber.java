@@ -0,0 +1,49 @@
+//
+// MIT License
+//
+// Copyright (c) 2022 emilyy-dev
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+
+package io.github.emilyydev.emmyson.io;
+
+import io.github.emilyydev.emmyson.data.JsonData;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Parses UTF-8 encoded json from the chunks of bytes it's subscribed to as they arrive, requesting one chunk at a time.
+ * <p>
+ * The result completes with the parsed data once the publisher completes, or exceptionally if the publisher fails or
+ * the json turns out to be malformed, in which case the subscription is cancelled right away. Cancelling the result
+ * cancels the subscription as well. A subscriber can only be subscribed once.
+ * </p>
+ */
+public interface JsonSubscriber extends Flow.Subscriber<ByteBuffer> {
+
+  /**
+   * Gets the future completed with the json data parsed by this subscriber.
+   *
+   * @return the result of parsing
+   */
+  CompletableFuture<JsonData> result();
+}
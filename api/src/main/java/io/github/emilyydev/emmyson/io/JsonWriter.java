@@ -30,6 +30,7 @@ import io.github.emilyydev.emmyson.data.JsonData;
 import io.github.emilyydev.emmyson.data.JsonNull;
 import io.github.emilyydev.emmyson.data.JsonNumber;
 import io.github.emilyydev.emmyson.data.JsonObject;
+import io.github.emilyydev.emmyson.data.JsonRaw;
 import io.github.emilyydev.emmyson.data.JsonString;
 
 import java.io.Closeable;
@@ -46,4 +47,5 @@ public interface JsonWriter extends Closeable, Flushable {
   void write(JsonString jsonString) throws IOException;
   void write(JsonArray jsonArray) throws IOException;
   void write(JsonObject jsonObject) throws IOException;
+  void write(JsonRaw jsonRaw) throws IOException;
 }
@@ -0,0 +1,117 @@
+//
+// MIT License
+//
+// Copyright (c) 2022 emilyy-dev
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+
+package io.github.emilyydev.emmyson.io;
+
+import net.kyori.examination.string.StringExaminer;
+
+final class SimpleWriterOptions implements WriterOptions {
+
+  static final WriterOptions DEFAULTS = new SimpleWriterOptions(true, true, true, 0);
+  static final WriterOptions MINIMAL = new SimpleWriterOptions(false, false, false, 0);
+
+  private final boolean htmlSafe;
+  private final boolean asciiOnly;
+  private final boolean escapeForwardSlash;
+  private final int parallelThreshold;
+
+  SimpleWriterOptions(
+      final boolean htmlSafe,
+      final boolean asciiOnly,
+      final boolean escapeForwardSlash,
+      final int parallelThreshold
+  ) {
+    this.htmlSafe = htmlSafe;
+    this.asciiOnly = asciiOnly;
+    this.escapeForwardSlash = escapeForwardSlash;
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  @Override
+  public boolean htmlSafe() {
+    return this.htmlSafe;
+  }
+
+  @Override
+  public boolean asciiOnly() {
+    return this.asciiOnly;
+  }
+
+  @Override
+  public boolean escapeForwardSlash() {
+    return this.escapeForwardSlash;
+  }
+
+  @Override
+  public int parallelThreshold() {
+    return this.parallelThreshold;
+  }
+
+  @Override
+  public WriterOptions withHtmlSafe(final boolean htmlSafe) {
+    if (this.htmlSafe == htmlSafe) { return this; }
+    return new SimpleWriterOptions(htmlSafe, this.asciiOnly, this.escapeForwardSlash, this.parallelThreshold);
+  }
+
+  @Override
+  public WriterOptions withAsciiOnly(final boolean asciiOnly) {
+    if (this.asciiOnly == asciiOnly) { return this; }
+    return new SimpleWriterOptions(this.htmlSafe, asciiOnly, this.escapeForwardSlash, this.parallelThreshold);
+  }
+
+  @Override
+  public WriterOptions withEscapeForwardSlash(final boolean escapeForwardSlash) {
+    if (this.escapeForwardSlash == escapeForwardSlash) { return this; }
+    return new SimpleWriterOptions(this.htmlSafe, this.asciiOnly, escapeForwardSlash, this.parallelThreshold);
+  }
+
+  @Override
+  public WriterOptions withParallelThreshold(final int parallelThreshold) {
+    if (0 > parallelThreshold) { throw new IllegalArgumentException("Negative threshold: " + parallelThreshold); }
+    if (this.parallelThreshold == parallelThreshold) { return this; }
+    return new SimpleWriterOptions(this.htmlSafe, this.asciiOnly, this.escapeForwardSlash, parallelThreshold);
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) { return true; }
+    if (!(other instanceof WriterOptions)) { return false; }
+    final WriterOptions that = (WriterOptions) other;
+    return this.htmlSafe == that.htmlSafe()
+           && this.asciiOnly == that.asciiOnly()
+           && this.escapeForwardSlash == that.escapeForwardSlash()
+           && this.parallelThreshold == that.parallelThreshold();
+  }
+
+  @Override
+  public int hashCode() {
+    final int flags = (this.htmlSafe ? 4 : 0) | (this.asciiOnly ? 2 : 0) | (this.escapeForwardSlash ? 1 : 0);
+    return 31 * this.parallelThreshold + flags;
+  }
+
+  @Override
+  public String toString() {
+    return examine(StringExaminer.simpleEscaping());
+  }
+}
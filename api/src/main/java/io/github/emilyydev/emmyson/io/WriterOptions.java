@@ -0,0 +1,146 @@
+//
+// MIT License
+//
+// Copyright (c) 2022 emilyy-dev
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+
+package io.github.emilyydev.emmyson.io;
+
+import net.kyori.examination.Examinable;
+import net.kyori.examination.ExaminableProperty;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.stream.Stream;
+
+/**
+ * Options controlling how json writers escape the contents of strings and how they go through large arrays and objects.
+ * Neither of them ever changes the meaning of the written json, only its size and where it can be safely embedded.
+ * <p>
+ * {@linkplain io.github.emilyydev.emmyson.data.JsonRaw Raw values} are escaped according to these options too: they're
+ * copied verbatim only if none of their strings contains a character these options escape.
+ * </p>
+ *
+ * @see io.github.emilyydev.emmyson.data.DataFactory#withWriterOptions(WriterOptions)
+ */
+public interface WriterOptions extends Examinable {
+
+  /**
+   * Gets the default writer options, which escape as much as possible: the output is HTML-safe, ASCII-only and escapes
+   * forward slashes.
+   *
+   * @return the default writer options
+   */
+  static WriterOptions defaults() {
+    return SimpleWriterOptions.DEFAULTS;
+  }
+
+  /**
+   * Gets the writer options producing the smallest output: only the characters json requires to be escaped are
+   * escaped and anything else is written as-is.
+   *
+   * @return the minimal writer options
+   */
+  static WriterOptions minimal() {
+    return SimpleWriterOptions.MINIMAL;
+  }
+
+  /**
+   * Whether characters with a special meaning in HTML ({@code "}, {@code &}, {@code <} and {@code >}) are written as
+   * unicode escape sequences.
+   *
+   * @return {@code true} if HTML characters are escaped
+   */
+  boolean htmlSafe();
+
+  /**
+   * Whether every non-ASCII character is written as a unicode escape sequence. If not, non-ASCII characters are
+   * written as-is and encoded however the destination requires it (i.e. as UTF-8 by byte writers).
+   *
+   * @return {@code true} if the output is made of ASCII characters only
+   */
+  boolean asciiOnly();
+
+  /**
+   * Whether forward slashes are escaped.
+   *
+   * @return {@code true} if forward slashes are escaped
+   */
+  boolean escapeForwardSlash();
+
+  /**
+   * Gets the minimum number of elements of arrays and members of objects for them to be serialized in parallel, in
+   * chunks that are written in order once they're done, or 0 if they're always serialized sequentially.
+   * <p>
+   * Chunks are serialized in the {@link java.util.concurrent.ForkJoinPool} the writer runs in, if any, or in the
+   * common pool otherwise. Every chunk is buffered in memory until it's written.
+   * </p>
+   *
+   * @return the minimum size of arrays and objects serialized in parallel, or 0 if parallel serialization is disabled
+   */
+  int parallelThreshold();
+
+  /**
+   * Creates a copy of these options with the given HTML escaping.
+   *
+   * @param htmlSafe whether HTML characters are escaped
+   * @return writer options with the given HTML escaping
+   * @see #htmlSafe()
+   */
+  WriterOptions withHtmlSafe(boolean htmlSafe);
+
+  /**
+   * Creates a copy of these options with the given non-ASCII escaping.
+   *
+   * @param asciiOnly whether non-ASCII characters are escaped
+   * @return writer options with the given non-ASCII escaping
+   * @see #asciiOnly()
+   */
+  WriterOptions withAsciiOnly(boolean asciiOnly);
+
+  /**
+   * Creates a copy of these options with the given forward slash escaping.
+   *
+   * @param escapeForwardSlash whether forward slashes are escaped
+   * @return writer options with the given forward slash escaping
+   * @see #escapeForwardSlash()
+   */
+  WriterOptions withEscapeForwardSlash(boolean escapeForwardSlash);
+
+  /**
+   * Creates a copy of these options with the given parallel serialization threshold.
+   *
+   * @param parallelThreshold the minimum size of arrays and objects serialized in parallel, or 0 to disable it
+   * @return writer options with the given parallel serialization threshold
+   * @throws IllegalArgumentException if the threshold is negative
+   * @see #parallelThreshold()
+   */
+  WriterOptions withParallelThreshold(int parallelThreshold);
+
+  @Override
+  default @NotNull Stream<? extends ExaminableProperty> examinableProperties() {
+    return Stream.of(
+        ExaminableProperty.of("htmlSafe", htmlSafe()),
+        ExaminableProperty.of("asciiOnly", asciiOnly()),
+        ExaminableProperty.of("escapeForwardSlash", escapeForwardSlash()),
+        ExaminableProperty.of("parallelThreshold", parallelThreshold())
+    );
+  }
+}
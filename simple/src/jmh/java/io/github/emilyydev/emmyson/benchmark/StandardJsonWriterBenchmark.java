@@ -97,6 +97,18 @@ public class StandardJsonWriterBenchmark {
     return write(this.nestedObjectTree);
   }
 
+  @Benchmark
+  public String nestedObjectTreePresized() {
+    final StringBuilder buffer = new StringBuilder((int) this.dataFactory.serializedLength(this.nestedObjectTree));
+    this.dataFactory.write(buffer, this.nestedObjectTree);
+    return buffer.toString();
+  }
+
+  @Benchmark
+  public String nestedObjectTreeToString() {
+    return this.dataFactory.writeToString(this.nestedObjectTree);
+  }
+
   private String write(final JsonData jsonData) {
     final StringBuilder buffer = new StringBuilder();
     this.dataFactory.write(buffer, jsonData);
@@ -0,0 +1,81 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.data;
+
+import io.github.emilyydev.emmyson.data.JsonArray;
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.simple.util.LinkedList;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static java.util.Objects.requireNonNull;
+
+// Accumulates into a growable array that the built json array takes over as-is
+final class JsonArrayBuilder implements JsonArray.Builder {
+
+  private static final int INITIAL_CAPACITY = 8;
+  private static final Object[] BUILT = {};
+
+  private Object[] elements;
+  private int size = 0;
+
+  JsonArrayBuilder(final int expectedSize) {
+    if (0 > expectedSize) { throw new IllegalArgumentException("expectedSize < 0: " + expectedSize); }
+    this.elements = new Object[0 == expectedSize ? INITIAL_CAPACITY : expectedSize];
+  }
+
+  @Override
+  public JsonArray.Builder add(final @Nullable JsonData element) {
+    checkNotBuilt();
+    if (this.elements.length == this.size) { this.elements = Arrays.copyOf(this.elements, this.size << 1); }
+    this.elements[this.size++] = null == element ? JsonNullImpl.INSTANCE : element;
+    return this;
+  }
+
+  @Override
+  public JsonArray.Builder addAll(final Collection<? extends @Nullable JsonData> elements) {
+    requireNonNull(elements, "elements");
+    checkNotBuilt();
+    final int size = this.size + elements.size();
+    if (this.elements.length < size) {
+      this.elements = Arrays.copyOf(this.elements, Math.max(size, this.size << 1));
+    }
+    for (final JsonData element : elements) { add(element); }
+    return this;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public JsonArray build() {
+    checkNotBuilt();
+    final Object[] elements = this.elements;
+    this.elements = BUILT;
+    return JsonArrayImpl.emptyOrCreate(LinkedList.wrap(elements, this.size));
+  }
+
+  private void checkNotBuilt() {
+    if (BUILT == this.elements) { throw new IllegalStateException("Builder already built"); }
+  }
+}
@@ -20,6 +20,7 @@ package io.github.emilyydev.emmyson.simple.data;
 
 import io.github.emilyydev.emmyson.data.JsonArray;
 import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.simple.io.SerializedLength;
 import io.github.emilyydev.emmyson.simple.util.LinkedList;
 import net.kyori.examination.string.StringExaminer;
 import org.jetbrains.annotations.NotNull;
@@ -39,7 +40,7 @@ import java.util.stream.Stream;
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.toList;
 
-public class JsonArrayImpl implements JsonArray {
+public class JsonArrayImpl implements JsonArray, SerializedLength.Cache {
 
   private static final long serialVersionUID = 3110228433630368656L;
 
@@ -53,6 +54,7 @@ public class JsonArrayImpl implements JsonArray {
 
   private final LinkedList<JsonData> elements;
   private transient volatile JavaList javaList = null;
+  private transient volatile long serializedLength = 0;
 
   private JsonArrayImpl(final LinkedList<JsonData> elements) {
     this.elements = elements;
@@ -147,6 +149,16 @@ public class JsonArrayImpl implements JsonArray {
     return this.javaList;
   }
 
+  @Override
+  public final long cachedSerializedLength() {
+    return this.serializedLength;
+  }
+
+  @Override
+  public final void cacheSerializedLength(final long tagged) {
+    this.serializedLength = tagged;
+  }
+
   @Override
   public final boolean equals(final Object other) {
     if (this == other) { return true; }
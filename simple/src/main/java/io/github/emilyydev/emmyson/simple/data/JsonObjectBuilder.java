@@ -0,0 +1,84 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.data;
+
+import io.github.emilyydev.emmyson.data.DataFactory;
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonObject;
+import io.github.emilyydev.emmyson.data.JsonString;
+import io.github.emilyydev.emmyson.simple.util.LinkedHashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+// Accumulates names and values into parallel growable arrays, repeated names are only resolved once built
+final class JsonObjectBuilder implements JsonObject.Builder {
+
+  private static final int INITIAL_CAPACITY = 8;
+  private static final JsonString[] BUILT = {};
+
+  private final DataFactory factory;
+  private JsonString[] names;
+  private JsonData[] values;
+  private int size = 0;
+
+  JsonObjectBuilder(final DataFactory factory, final int expectedSize) {
+    if (0 > expectedSize) { throw new IllegalArgumentException("expectedSize < 0: " + expectedSize); }
+    this.factory = factory;
+    this.names = new JsonString[0 == expectedSize ? INITIAL_CAPACITY : expectedSize];
+    this.values = new JsonData[this.names.length];
+  }
+
+  @Override
+  public JsonObject.Builder put(final CharSequence name, final @Nullable JsonData value) {
+    return put(this.factory.string(name), value);
+  }
+
+  @Override
+  public JsonObject.Builder put(final JsonString name, final @Nullable JsonData value) {
+    requireNonNull(name, "name");
+    checkNotBuilt();
+    if (this.names.length == this.size) {
+      this.names = Arrays.copyOf(this.names, this.size << 1);
+      this.values = Arrays.copyOf(this.values, this.size << 1);
+    }
+    this.names[this.size] = name;
+    this.values[this.size++] = null == value ? JsonNullImpl.INSTANCE : value;
+    return this;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public JsonObject build() {
+    checkNotBuilt();
+    final JsonString[] names = this.names;
+    this.names = BUILT;
+    return JsonObjectImpl.emptyOrCreate(LinkedHashMap.ofPuts(names, this.values, this.size));
+  }
+
+  private void checkNotBuilt() {
+    if (BUILT == this.names) { throw new IllegalStateException("Builder already built"); }
+  }
+}
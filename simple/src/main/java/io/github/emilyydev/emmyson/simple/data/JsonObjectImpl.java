@@ -21,6 +21,7 @@ package io.github.emilyydev.emmyson.simple.data;
 import io.github.emilyydev.emmyson.data.JsonData;
 import io.github.emilyydev.emmyson.data.JsonObject;
 import io.github.emilyydev.emmyson.data.JsonString;
+import io.github.emilyydev.emmyson.simple.io.SerializedLength;
 import io.github.emilyydev.emmyson.simple.util.LinkedHashMap;
 import net.kyori.examination.string.StringExaminer;
 import org.jetbrains.annotations.NotNull;
@@ -44,7 +45,7 @@ import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.toMap;
 
-public class JsonObjectImpl implements JsonObject {
+public class JsonObjectImpl implements JsonObject, SerializedLength.Cache {
 
   private static final long serialVersionUID = 2756192412730463825L;
 
@@ -58,6 +59,7 @@ public class JsonObjectImpl implements JsonObject {
 
   private final LinkedHashMap<JsonString, JsonData> elements;
   private transient volatile JavaMap javaMap = null;
+  private transient volatile long serializedLength = 0;
 
   private JsonObjectImpl(final LinkedHashMap<JsonString, JsonData> elements) {
     this.elements = elements;
@@ -106,6 +108,16 @@ public class JsonObjectImpl implements JsonObject {
     return this.javaMap;
   }
 
+  @Override
+  public final long cachedSerializedLength() {
+    return this.serializedLength;
+  }
+
+  @Override
+  public final void cacheSerializedLength(final long tagged) {
+    this.serializedLength = tagged;
+  }
+
   @Override
   public final boolean equals(final Object other) {
     if (this == other) { return true; }
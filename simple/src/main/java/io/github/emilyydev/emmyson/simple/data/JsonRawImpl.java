@@ -0,0 +1,100 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.data;
+
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonRaw;
+import io.github.emilyydev.emmyson.exception.JsonParseException;
+import io.github.emilyydev.emmyson.exception.MalformedJsonException;
+import io.github.emilyydev.emmyson.simple.io.CharSequenceJsonReader;
+import io.github.emilyydev.emmyson.simple.io.RawJsonSupport;
+import net.kyori.examination.string.StringExaminer;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Both the encoded form and the parsed value are computed when first needed, racing threads compute equal values
+public final class JsonRawImpl implements JsonRaw, RawJsonSupport.Cache {
+
+  private static final long serialVersionUID = 2420934419569837371L;
+
+  private final String json;
+  private transient volatile byte @Nullable [] utf8;
+  private transient volatile @Nullable JsonData value;
+  private transient volatile int escapeVerdicts = 0;
+
+  // the json must have been validated and compacted already
+  JsonRawImpl(final String json, final byte @Nullable [] utf8) {
+    this.json = json;
+    this.utf8 = utf8;
+  }
+
+  @Override
+  public String json() {
+    return this.json;
+  }
+
+  @Override
+  public ByteBuffer utf8() {
+    byte[] utf8 = this.utf8;
+    if (null == utf8) { this.utf8 = utf8 = this.json.getBytes(StandardCharsets.UTF_8); }
+    return ByteBuffer.wrap(utf8).asReadOnlyBuffer();
+  }
+
+  @Override
+  public JsonData value() {
+    JsonData value = this.value;
+    if (null == value) {
+      try {
+        this.value = value = new CharSequenceJsonReader(this.json, StandardDataFactory.provider()).readFully();
+      } catch (final JsonParseException exception) {
+        throw new MalformedJsonException(exception);
+      }
+    }
+    return value;
+  }
+
+  @Override
+  public int cachedEscapeVerdicts() {
+    return this.escapeVerdicts;
+  }
+
+  @Override
+  public void cacheEscapeVerdicts(final int verdicts) {
+    this.escapeVerdicts = verdicts;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) { return true; }
+    if (!(other instanceof JsonRaw)) { return false; }
+    return this.json.equals(((JsonRaw) other).json());
+  }
+
+  @Override
+  public int hashCode() {
+    return this.json.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return examine(StringExaminer.simpleEscaping());
+  }
+}
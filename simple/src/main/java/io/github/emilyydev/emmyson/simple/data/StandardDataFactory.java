@@ -26,56 +26,121 @@ import io.github.emilyydev.emmyson.data.JsonData;
 import io.github.emilyydev.emmyson.data.JsonNull;
 import io.github.emilyydev.emmyson.data.JsonNumber;
 import io.github.emilyydev.emmyson.data.JsonObject;
+import io.github.emilyydev.emmyson.data.JsonRaw;
 import io.github.emilyydev.emmyson.data.JsonString;
+import io.github.emilyydev.emmyson.io.Compression;
+import io.github.emilyydev.emmyson.io.JsonGenerator;
+import io.github.emilyydev.emmyson.io.JsonLinesWriter;
 import io.github.emilyydev.emmyson.io.JsonReader;
+import io.github.emilyydev.emmyson.io.JsonShape;
+import io.github.emilyydev.emmyson.io.JsonSubscriber;
 import io.github.emilyydev.emmyson.io.JsonWriter;
+import io.github.emilyydev.emmyson.io.WriterOptions;
+import io.github.emilyydev.emmyson.simple.io.ByteBufferJsonReader;
+import io.github.emilyydev.emmyson.simple.io.ByteBufferJsonWriter;
+import io.github.emilyydev.emmyson.simple.io.CharArrayJsonWriter;
+import io.github.emilyydev.emmyson.simple.io.CharSequenceJsonReader;
+import io.github.emilyydev.emmyson.simple.io.ChunkedJsonPublisher;
+import io.github.emilyydev.emmyson.simple.io.ChunkedJsonPublisher.Layout;
+import io.github.emilyydev.emmyson.simple.io.CompiledShape;
+import io.github.emilyydev.emmyson.simple.io.JsonElementPublisher;
+import io.github.emilyydev.emmyson.simple.io.PipelinedInputStream;
+import io.github.emilyydev.emmyson.simple.io.PipelinedOutputStream;
+import io.github.emilyydev.emmyson.simple.io.RawJsonSupport;
+import io.github.emilyydev.emmyson.simple.io.SerializedLength;
+import io.github.emilyydev.emmyson.simple.io.StandardJsonGenerator;
+import io.github.emilyydev.emmyson.simple.io.StandardJsonLinesWriter;
 import io.github.emilyydev.emmyson.simple.io.StandardJsonReader;
-import io.github.emilyydev.emmyson.simple.io.StandardJsonWriter;
+import io.github.emilyydev.emmyson.simple.io.StandardJsonSubscriber;
+import io.github.emilyydev.emmyson.simple.io.ThreadLocalJsonWriters;
+import io.github.emilyydev.emmyson.simple.io.Utf8JsonWriter;
 import io.github.emilyydev.emmyson.simple.util.LinkedHashMap;
 import io.github.emilyydev.emmyson.simple.util.LinkedList;
+import io.github.emilyydev.emmyson.util.Throwing;
 import io.github.emilyydev.emmyson.util.Try;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.collectingAndThen;
-import static java.util.stream.Collectors.toList;
 
 public final class StandardDataFactory implements DataFactory {
 
   private static final DataFactory INSTANCE = new StandardDataFactory();
+  // how many bytes of lines are written at once when writing a whole stream of them
+  private static final int LINES_GROUP_BYTES = 64 * 1024;
 
   public static DataFactory provider() {
     return INSTANCE;
   }
 
+  private final WriterOptions writerOptions;
+
+  public StandardDataFactory() {
+    this(WriterOptions.defaults());
+  }
+
+  private StandardDataFactory(final WriterOptions writerOptions) {
+    this.writerOptions = writerOptions;
+  }
+
   @Contract("_ -> !null")
   private static JsonData nullSafe(final @Nullable JsonData e) {
     return null == e ? JsonNullImpl.INSTANCE : e;
   }
 
+  private static <A> Try<A> readPrimitiveArray(
+      final Throwing.Supplier<? extends JsonReader> reader,
+      final Throwing.Function<? super JsonReader, ? extends A> read
+  ) {
+    return Try.of(() -> {
+      try (final JsonReader r = reader.tryGet()) {
+        return read.tryApply(r);
+      }
+    });
+  }
+
   @Override
   public <T extends JsonData> Try<T> read(final String json, final DataType<T> type) {
-    return read(new StringReader(json), type);
+    try (final var reader = createReader(json)) {
+      return reader.read().as(type);
+    } catch (final IOException exception) {
+      return Try.failure(exception);
+    }
+  }
+
+  @Override
+  public <T extends JsonData> Try<T> read(final String json, final JsonShape shape, final DataType<T> type) {
+    try (final var reader = createReader(json, shape)) {
+      return reader.read().as(type);
+    } catch (final IOException exception) {
+      return Try.failure(exception);
+    }
   }
 
   @Override
@@ -110,9 +175,99 @@ public final class StandardDataFactory implements DataFactory {
     }
   }
 
+  @Override
+  public <T extends JsonData> Try<T> read(final ByteBuffer in, final DataType<T> type) {
+    try (final var reader = createReader(in)) {
+      return reader.read().as(type);
+    } catch (final IOException exception) {
+      return Try.failure(exception);
+    }
+  }
+
+  @Override
+  public <T extends JsonData> Try<T> read(final ByteBuffer in, final JsonShape shape, final DataType<T> type) {
+    try (final var reader = createReader(in, shape)) {
+      return reader.read().as(type);
+    } catch (final IOException exception) {
+      return Try.failure(exception);
+    }
+  }
+
+  @Override
+  public <T extends JsonData> Try<T> read(final Path path, final Compression compression, final DataType<T> type) {
+    try (final var in = Files.newInputStream(path)) {
+      return read(in, compression, type);
+    } catch (final IOException exception) {
+      return Try.failure(exception);
+    }
+  }
+
+  @Override
+  public <T extends JsonData> Try<T> read(
+      final InputStream in,
+      final Compression compression,
+      final DataType<T> type
+  ) {
+    try (final var reader = createReader(in, compression)) {
+      return reader.read().as(type);
+    } catch (final IOException exception) {
+      return Try.failure(exception);
+    }
+  }
+
+  @Override
+  public Try<int[]> readIntArray(final String json) {
+    return readPrimitiveArray(() -> createReader(json), JsonReader::readIntArray);
+  }
+
+  @Override
+  public Try<int[]> readIntArray(final InputStream in) {
+    return readPrimitiveArray(() -> createReader(in), JsonReader::readIntArray);
+  }
+
+  @Override
+  public Try<int[]> readIntArray(final ByteBuffer in) {
+    return readPrimitiveArray(() -> createReader(in), JsonReader::readIntArray);
+  }
+
+  @Override
+  public Try<long[]> readLongArray(final String json) {
+    return readPrimitiveArray(() -> createReader(json), JsonReader::readLongArray);
+  }
+
+  @Override
+  public Try<long[]> readLongArray(final InputStream in) {
+    return readPrimitiveArray(() -> createReader(in), JsonReader::readLongArray);
+  }
+
+  @Override
+  public Try<long[]> readLongArray(final ByteBuffer in) {
+    return readPrimitiveArray(() -> createReader(in), JsonReader::readLongArray);
+  }
+
+  @Override
+  public Try<double[]> readDoubleArray(final String json) {
+    return readPrimitiveArray(() -> createReader(json), JsonReader::readDoubleArray);
+  }
+
+  @Override
+  public Try<double[]> readDoubleArray(final InputStream in) {
+    return readPrimitiveArray(() -> createReader(in), JsonReader::readDoubleArray);
+  }
+
+  @Override
+  public Try<double[]> readDoubleArray(final ByteBuffer in) {
+    return readPrimitiveArray(() -> createReader(in), JsonReader::readDoubleArray);
+  }
+
   @Override
   public JsonReader createReader(final String json) {
-    return createReader(new StringReader(json));
+    return new CharSequenceJsonReader(json, this);
+  }
+
+  @Override
+  public JsonReader createReader(final String json, final JsonShape shape) {
+    return new CharSequenceJsonReader(json, this, compile(shape));
   }
 
   @Override
@@ -130,15 +285,64 @@ public final class StandardDataFactory implements DataFactory {
     return createReader(new InputStreamReader(in, StandardCharsets.UTF_8));
   }
 
+  @Override
+  public JsonReader createReader(final InputStream in, final Compression compression) {
+    return createReader(PipelinedInputStream.decompressing(in, requireNonNull(compression, "compression")));
+  }
+
   @Override
   public JsonReader createReader(final Readable in) {
     return new StandardJsonReader(in, this);
   }
 
+  @Override
+  public JsonReader createReader(final ByteBuffer in) {
+    return new ByteBufferJsonReader(in, this);
+  }
+
+  @Override
+  public JsonReader createReader(final ByteBuffer in, final JsonShape shape) {
+    return new ByteBufferJsonReader(in, this, compile(shape));
+  }
+
+  @Override
+  public JsonSubscriber createSubscriber() {
+    return new StandardJsonSubscriber(this);
+  }
+
+  @Override
+  public Flow.Publisher<JsonData> readElements(final Flow.Publisher<ByteBuffer> in) {
+    requireNonNull(in, "in");
+    return new JsonElementPublisher(in, this);
+  }
+
+  @Override
+  public JsonShape shapeOf(final CharSequence @NotNull ... names) {
+    final String[] strings = new String[names.length];
+    final JsonString[] keys = new JsonString[names.length];
+    final var seen = new HashSet<String>();
+    for (int i = 0; i < names.length; ++i) {
+      strings[i] = requireNonNull(names[i], "name").toString();
+      keys[i] = string(strings[i]);
+      if (!seen.add(strings[i])) { throw new IllegalArgumentException("Repeated name '" + strings[i] + '\''); }
+    }
+
+    return new CompiledShape(strings, values -> JsonObjectImpl.emptyOrCreate(LinkedHashMap.ofSlots(keys, values)));
+  }
+
+  private CompiledShape compile(final JsonShape shape) {
+    if (requireNonNull(shape, "shape") instanceof CompiledShape) {
+      return (CompiledShape) shape;
+    } else {
+      return (CompiledShape) shapeOf(shape.names().toArray(new CharSequence[0]));
+    }
+  }
+
   @Override
   public Optional<IOException> write(final File file, final JsonData data) {
-    try (final var writer = new FileWriter(file, StandardCharsets.UTF_8)) {
-      return write(writer, data);
+    try (final var writer = createWriter(file)) {
+      writer.write(data);
+      return Optional.empty();
     } catch (final IOException exception) {
       return Optional.of(exception);
     }
@@ -146,8 +350,9 @@ public final class StandardDataFactory implements DataFactory {
 
   @Override
   public Optional<IOException> write(final Path path, final JsonData data) {
-    try (final var writer = Files.newBufferedWriter(path)) {
-      return write(writer, data);
+    try (final var writer = createWriter(path)) {
+      writer.write(data);
+      return Optional.empty();
     } catch (final IOException exception) {
       return Optional.of(exception);
     }
@@ -155,7 +360,31 @@ public final class StandardDataFactory implements DataFactory {
 
   @Override
   public Optional<IOException> write(final OutputStream out, final JsonData data) {
-    return write(new OutputStreamWriter(out, StandardCharsets.UTF_8), data);
+    try (final var writer = createWriter(out)) {
+      writer.write(data);
+      return Optional.empty();
+    } catch (final IOException exception) {
+      return Optional.of(exception);
+    }
+  }
+
+  @Override
+  public Optional<IOException> write(final Path path, final Compression compression, final JsonData data) {
+    try (final var out = Files.newOutputStream(path)) {
+      return write(out, compression, data);
+    } catch (final IOException exception) {
+      return Optional.of(exception);
+    }
+  }
+
+  @Override
+  public Optional<IOException> write(final OutputStream out, final Compression compression, final JsonData data) {
+    try (final var writer = createWriter(out, compression)) {
+      writer.write(data);
+      return Optional.empty();
+    } catch (final IOException exception) {
+      return Optional.of(exception);
+    }
   }
 
   @Override
@@ -168,24 +397,180 @@ public final class StandardDataFactory implements DataFactory {
     }
   }
 
+  @Override
+  public Optional<IOException> write(final ByteBuffer out, final JsonData data) {
+    final int position = out.position();
+    try (final var writer = createWriter(out)) {
+      writer.write(data);
+      return Optional.empty();
+    } catch (final IOException exception) {
+      out.position(position);
+      return Optional.of(exception);
+    }
+  }
+
+  @Override
+  public Optional<IOException> write(final WritableByteChannel out, final JsonData data) {
+    try (final var writer = createWriter(out)) {
+      writer.write(data);
+      return Optional.empty();
+    } catch (final IOException exception) {
+      return Optional.of(exception);
+    }
+  }
+
   @Override
   public JsonWriter createWriter(final File file) throws IOException {
-    return createWriter(new FileWriter(file, StandardCharsets.UTF_8));
+    return createWriter(new FileOutputStream(file));
   }
 
   @Override
   public JsonWriter createWriter(final Path path) throws IOException {
-    return createWriter(Files.newBufferedWriter(path));
+    return createWriter(Files.newOutputStream(path));
   }
 
   @Override
   public JsonWriter createWriter(final OutputStream out) {
-    return createWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    return new Utf8JsonWriter(out, this.writerOptions);
+  }
+
+  @Override
+  public JsonWriter createWriter(final OutputStream out, final Compression compression) throws IOException {
+    return createWriter(PipelinedOutputStream.compressing(out, requireNonNull(compression, "compression")));
+  }
+
+  @Override
+  public JsonWriter createAsyncWriter(final OutputStream out) {
+    return createWriter(new PipelinedOutputStream(requireNonNull(out, "out")));
+  }
+
+  @Override
+  public JsonWriter createAsyncWriter(final OutputStream out, final Executor executor) {
+    return createWriter(new PipelinedOutputStream(requireNonNull(out, "out"), requireNonNull(executor, "executor")));
   }
 
   @Override
   public JsonWriter createWriter(final Appendable out) {
-    return new StandardJsonWriter(out);
+    return new CharArrayJsonWriter(out, this.writerOptions);
+  }
+
+  @Override
+  public JsonWriter createWriter(final ByteBuffer out) {
+    return new ByteBufferJsonWriter(out, this.writerOptions);
+  }
+
+  @Override
+  public JsonWriter createWriter(final WritableByteChannel out) {
+    return new ByteBufferJsonWriter(out, this.writerOptions);
+  }
+
+  @Override
+  public Optional<IOException> writeLines(final OutputStream out, final Stream<? extends JsonData> lines) {
+    requireNonNull(lines, "lines");
+    try (final var writer = createLinesWriter(out, LINES_GROUP_BYTES, Duration.ZERO)) {
+      final Iterator<? extends JsonData> iterator = lines.iterator();
+      while (iterator.hasNext()) { writer.append(nullSafe(iterator.next())); }
+      return Optional.empty();
+    } catch (final IOException exception) {
+      return Optional.of(exception);
+    }
+  }
+
+  @Override
+  public Optional<IOException> writeLines(final Path path, final Stream<? extends JsonData> lines) {
+    try {
+      return writeLines(Files.newOutputStream(path), lines);
+    } catch (final IOException exception) {
+      return Optional.of(exception);
+    }
+  }
+
+  @Override
+  public JsonLinesWriter createLinesWriter(final OutputStream out, final int groupBytes, final Duration groupDelay) {
+    requireNonNull(out, "out");
+    requireNonNull(groupDelay, "groupDelay");
+    return new StandardJsonLinesWriter(out, this.writerOptions, groupBytes, groupDelay);
+  }
+
+  @Override
+  public JsonLinesWriter createLinesWriter(
+      final OutputStream out,
+      final int groupBytes,
+      final Duration groupDelay,
+      final ScheduledExecutorService executor
+  ) {
+    requireNonNull(out, "out");
+    requireNonNull(groupDelay, "groupDelay");
+    requireNonNull(executor, "executor");
+    return new StandardJsonLinesWriter(out, this.writerOptions, groupBytes, groupDelay, executor);
+  }
+
+  @Override
+  public JsonLinesWriter createLinesWriter(final Path path, final int groupBytes, final Duration groupDelay)
+      throws IOException {
+    final OutputStream out = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    return createLinesWriter(out, groupBytes, groupDelay);
+  }
+
+  @Override
+  public Flow.Publisher<ByteBuffer> publish(final JsonData jsonData) {
+    requireNonNull(jsonData, "jsonData");
+    return new ChunkedJsonPublisher(() -> List.of(jsonData).iterator(), Layout.VALUE, this.writerOptions);
+  }
+
+  @Override
+  public Flow.Publisher<ByteBuffer> publishArray(final Stream<? extends JsonData> values) {
+    requireNonNull(values, "values");
+    final Stream<JsonData> stream = values.map(StandardDataFactory::nullSafe);
+    return new ChunkedJsonPublisher(stream::iterator, Layout.ARRAY, this.writerOptions);
+  }
+
+  @Override
+  public Flow.Publisher<ByteBuffer> publishLines(final Stream<? extends JsonData> lines) {
+    requireNonNull(lines, "lines");
+    final Stream<JsonData> stream = lines.map(StandardDataFactory::nullSafe);
+    return new ChunkedJsonPublisher(stream::iterator, Layout.LINES, this.writerOptions);
+  }
+
+  @Override
+  public JsonGenerator createGenerator(final OutputStream out) {
+    return new StandardJsonGenerator(out, this.writerOptions);
+  }
+
+  @Override
+  public JsonGenerator createGenerator(final Appendable out) {
+    return new StandardJsonGenerator(out, this.writerOptions);
+  }
+
+  @Override
+  public JsonGenerator createGenerator(final WritableByteChannel out) {
+    return new StandardJsonGenerator(out, this.writerOptions);
+  }
+
+  @Override
+  public WriterOptions writerOptions() {
+    return this.writerOptions;
+  }
+
+  @Override
+  public DataFactory withWriterOptions(final WriterOptions options) {
+    if (this.writerOptions.equals(requireNonNull(options, "options"))) { return this; }
+    return new StandardDataFactory(options);
+  }
+
+  @Override
+  public long serializedLength(final JsonData jsonData) {
+    return new SerializedLength(this.writerOptions).of(requireNonNull(jsonData, "jsonData"));
+  }
+
+  @Override
+  public String writeToString(final JsonData jsonData) {
+    return ThreadLocalJsonWriters.writeToString(requireNonNull(jsonData, "jsonData"), this.writerOptions);
+  }
+
+  @Override
+  public byte[] writeToBytes(final JsonData jsonData) {
+    return ThreadLocalJsonWriters.writeToBytes(requireNonNull(jsonData, "jsonData"), this.writerOptions);
   }
 
   @Override
@@ -238,6 +623,28 @@ public final class StandardDataFactory implements DataFactory {
     return requireNonNull(str, "str") instanceof JsonString ? (JsonString) str : JsonStringImpl.emptyOrCreate(str);
   }
 
+  @Override
+  public Try<JsonRaw> raw(final CharSequence json) {
+    final String string = requireNonNull(json, "json").toString();
+    return Try.of(() -> {
+      new CharSequenceJsonReader(string, this).readFully();
+      return new JsonRawImpl(RawJsonSupport.compact(string), null);
+    });
+  }
+
+  @Override
+  public Try<JsonRaw> raw(final ByteBuffer json) {
+    final byte[] utf8 = new byte[requireNonNull(json, "json").remaining()];
+    json.duplicate().get(utf8);
+    return Try.of(() -> {
+      new ByteBufferJsonReader(ByteBuffer.wrap(utf8), this).readFully();
+      final String string = new String(utf8, StandardCharsets.UTF_8);
+      final String compacted = RawJsonSupport.compact(string);
+      // the encoded form is only reused if there was nothing to strip
+      return new JsonRawImpl(compacted, string == compacted ? utf8 : null);
+    });
+  }
+
   @Override
   public JsonArray arrayOf() {
     return JsonArrayImpl.empty();
@@ -255,7 +662,7 @@ public final class StandardDataFactory implements DataFactory {
     } else if (1 == elements.length) {
       return arrayOf(elements[0]);
     } else {
-      return arrayOf(Arrays.stream(elements));
+      return flatArray(elements.clone());
     }
   }
 
@@ -268,18 +675,29 @@ public final class StandardDataFactory implements DataFactory {
     } else if (1 == elements.size()) {
       return arrayOf(elements.iterator().next());
     } else {
-      return arrayOf(elements.stream());
+      return flatArray(elements.toArray());
     }
   }
 
   @Override
   public JsonArray arrayOf(final Stream<? extends @Nullable JsonData> elements) {
-    return elements.map(StandardDataFactory::nullSafe)
-        .collect(collectingAndThen(
-            collectingAndThen(
-                toList(), LinkedList::ofAll
-            ), JsonArrayImpl::emptyOrCreate
-        ));
+    return flatArray(elements.toArray());
+  }
+
+  // takes ownership of the given array
+  private static JsonArray flatArray(final Object[] elements) {
+    for (int i = 0; i < elements.length; ++i) { elements[i] = nullSafe((JsonData) elements[i]); }
+    return JsonArrayImpl.emptyOrCreate(LinkedList.wrap(elements));
+  }
+
+  @Override
+  public JsonArray.Builder arrayBuilder() {
+    return new JsonArrayBuilder(0);
+  }
+
+  @Override
+  public JsonArray.Builder arrayBuilder(final int expectedSize) {
+    return new JsonArrayBuilder(expectedSize);
   }
 
   @Override
@@ -307,7 +725,7 @@ public final class StandardDataFactory implements DataFactory {
     } else if (1 == entries.length) {
       return objectOf(entries[0]);
     } else {
-      return objectOf(Arrays.stream(entries));
+      return flatObject(entries.clone());
     }
   }
 
@@ -320,7 +738,7 @@ public final class StandardDataFactory implements DataFactory {
     } else if (1 == entries.size()) {
       return objectOf(entries.iterator().next());
     } else {
-      return objectOf(entries.stream());
+      return flatObject(entries.toArray());
     }
   }
 
@@ -328,13 +746,7 @@ public final class StandardDataFactory implements DataFactory {
   public JsonObject objectOf(
       final Stream<? extends Map.Entry<? extends CharSequence, ? extends @Nullable JsonData>> entries
   ) {
-    return entries.map(entry -> Map.entry(string(entry.getKey()), nullSafe(entry.getValue())))
-        .collect(collectingAndThen(
-            collectingAndThen(
-                toList(),
-                LinkedHashMap::ofAll
-            ), JsonObjectImpl::emptyOrCreate
-        ));
+    return flatObject(entries.toArray());
   }
 
   @Override
@@ -344,7 +756,29 @@ public final class StandardDataFactory implements DataFactory {
     } else if (1 == map.size()) {
       return objectOf(map.entrySet().iterator().next());
     } else {
-      return objectOf(map.entrySet().stream());
+      return flatObject(map.entrySet().toArray());
+    }
+  }
+
+  // later occurrences of a key are dropped, like a map collector keeping the first value would
+  private JsonObject flatObject(final Object[] entries) {
+    final JsonData[] values = new JsonData[entries.length];
+    final JsonString[] keys = new JsonString[entries.length];
+    for (int i = 0; i < entries.length; ++i) {
+      final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) entries[i];
+      keys[i] = string((CharSequence) entry.getKey());
+      values[i] = nullSafe((JsonData) entry.getValue());
     }
+    return JsonObjectImpl.emptyOrCreate(LinkedHashMap.ofAll(keys, values));
+  }
+
+  @Override
+  public JsonObject.Builder objectBuilder() {
+    return new JsonObjectBuilder(this, 0);
+  }
+
+  @Override
+  public JsonObject.Builder objectBuilder(final int expectedSize) {
+    return new JsonObjectBuilder(this, expectedSize);
   }
 }
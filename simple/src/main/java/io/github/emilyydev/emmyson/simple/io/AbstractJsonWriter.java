@@ -0,0 +1,334 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.JsonArray;
+import io.github.emilyydev.emmyson.data.JsonBoolean;
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonNull;
+import io.github.emilyydev.emmyson.data.JsonNumber;
+import io.github.emilyydev.emmyson.data.JsonObject;
+import io.github.emilyydev.emmyson.data.JsonRaw;
+import io.github.emilyydev.emmyson.data.JsonString;
+import io.github.emilyydev.emmyson.io.JsonWriter;
+import io.github.emilyydev.emmyson.io.WriterOptions;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Escapable;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Literal;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Tokens;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Dispatches by concrete node type and walks arrays and objects, leaving where the characters end up to subclasses
+abstract class AbstractJsonWriter implements JsonWriter {
+
+  // how many chunks a large array or object is split into for each thread of the pool
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  final WriterOptions options;
+  private final EscapePolicy escapePolicy;
+  // digits are generated right to left, the longest long takes 20 characters with its sign
+  private final char[] longChars = new char[20];
+  private @Nullable DoubleToDecimal doubleToDecimal = null;
+
+  AbstractJsonWriter(final WriterOptions options) {
+    this.options = options;
+    this.escapePolicy = EscapePolicy.of(options);
+  }
+
+  @Override
+  public final void write(final JsonData jsonData) throws IOException {
+    if (jsonData instanceof JsonString) {
+      write((JsonString) jsonData);
+    } else if (jsonData instanceof JsonNumber) {
+      write((JsonNumber) jsonData);
+    } else if (jsonData instanceof JsonObject) {
+      write((JsonObject) jsonData);
+    } else if (jsonData instanceof JsonArray) {
+      write((JsonArray) jsonData);
+    } else if (jsonData instanceof JsonBoolean) {
+      write((JsonBoolean) jsonData);
+    } else if (jsonData instanceof JsonNull) {
+      write((JsonNull) jsonData);
+    } else if (jsonData instanceof JsonRaw) {
+      write((JsonRaw) jsonData);
+    }
+  }
+
+  @Override
+  public final void write(final JsonNull jsonNull) throws IOException {
+    writeRaw(Literal.NULL);
+  }
+
+  @Override
+  public final void write(final JsonBoolean jsonBoolean) throws IOException {
+    writeRaw(jsonBoolean.booleanValue() ? Literal.TRUE : Literal.FALSE);
+  }
+
+  // common primitive wrappers are formatted straight into the output, anything else is left to its string form
+  @Override
+  public final void write(final JsonNumber jsonNumber) throws IOException {
+    final Number number = jsonNumber.asNumber();
+    if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+      writeLong(number.longValue());
+    } else if (number instanceof Double) {
+      writeDouble(number.doubleValue());
+    } else {
+      writeRaw(number.toString());
+    }
+  }
+
+  @Override
+  public final void write(final JsonString jsonString) throws IOException {
+    writeString(jsonString.asString());
+  }
+
+  @Override
+  public final void write(final JsonArray jsonArray) throws IOException {
+    if (isParallel(jsonArray.size())) {
+      writeParallel(Tokens.BEGIN_ARRAY, jsonArray.stream().toArray(), Tokens.END_ARRAY);
+      return;
+    }
+
+    put(Tokens.BEGIN_ARRAY);
+
+    final Iterator<JsonData> iterator = jsonArray.stream().iterator();
+    if (iterator.hasNext()) {
+      write(iterator.next());
+      while (iterator.hasNext()) {
+        put(Tokens.SEPARATOR);
+        write(iterator.next());
+      }
+    }
+
+    put(Tokens.END_ARRAY);
+  }
+
+  @Override
+  public final void write(final JsonObject jsonObject) throws IOException {
+    if (isParallel(jsonObject.size())) {
+      writeParallel(Tokens.BEGIN_OBJECT, jsonObject.asMap().entrySet().toArray(), Tokens.END_OBJECT);
+      return;
+    }
+
+    put(Tokens.BEGIN_OBJECT);
+
+    final Iterator<? extends Map.Entry<JsonString, ? extends JsonData>> iterator =
+        jsonObject.asMap().entrySet().iterator();
+    if (iterator.hasNext()) {
+      final Map.Entry<JsonString, ? extends JsonData> first = iterator.next();
+      write(first.getKey());
+      put(Tokens.OBJECT_MAPPER);
+      write(first.getValue());
+      while (iterator.hasNext()) {
+        put(Tokens.SEPARATOR);
+        final Map.Entry<JsonString, ? extends JsonData> entry = iterator.next();
+        write(entry.getKey());
+        put(Tokens.OBJECT_MAPPER);
+        write(entry.getValue());
+      }
+    }
+
+    put(Tokens.END_OBJECT);
+  }
+
+  private boolean isParallel(final int size) {
+    final int threshold = this.options.parallelThreshold();
+    return 0 != threshold && threshold <= size && 1 < size;
+  }
+
+  // elements are either json data or object members, split in chunks that are serialized into memory concurrently
+  // and written in order as soon as each one is done
+  private void writeParallel(final int begin, final Object[] elements, final int end) throws IOException {
+    final boolean inPool = ForkJoinTask.inForkJoinPool();
+    final ForkJoinPool pool = inPool ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+    final int chunkCount = Math.min(elements.length, Math.max(2, CHUNKS_PER_THREAD * pool.getParallelism()));
+    final int chunkSize = (elements.length + chunkCount - 1) / chunkCount;
+    final List<ForkJoinTask<AbstractJsonWriter>> chunks = new ArrayList<>(chunkCount);
+    for (int start = 0; start < elements.length; start += chunkSize) {
+      final int from = start;
+      final int to = Math.min(elements.length, start + chunkSize);
+      final ForkJoinTask<AbstractJsonWriter> chunk = ForkJoinTask.adapt(() -> writeChunk(elements, from, to));
+      if (inPool) {
+        chunk.fork();
+      } else {
+        pool.execute(chunk);
+      }
+      chunks.add(chunk);
+    }
+
+    put(begin);
+    try {
+      for (int i = 0; i < chunks.size(); ++i) {
+        if (0 != i) { put(Tokens.SEPARATOR); }
+        writeChunk(chunks.get(i).join());
+      }
+    } catch (final UncheckedIOException exception) {
+      throw exception.getCause();
+    } finally {
+      for (final ForkJoinTask<AbstractJsonWriter> chunk : chunks) { chunk.cancel(false); }
+    }
+    put(end);
+  }
+
+  @SuppressWarnings("unchecked")
+  private AbstractJsonWriter writeChunk(final Object[] elements, final int from, final int to) {
+    final AbstractJsonWriter chunk = chunkWriter();
+    try {
+      for (int i = from; i < to; ++i) {
+        if (from != i) { chunk.put(Tokens.SEPARATOR); }
+        final Object element = elements[i];
+        if (element instanceof Map.Entry) {
+          final Map.Entry<JsonString, ? extends JsonData> entry = (Map.Entry<JsonString, ? extends JsonData>) element;
+          chunk.write(entry.getKey());
+          chunk.put(Tokens.OBJECT_MAPPER);
+          chunk.write(entry.getValue());
+        } else {
+          chunk.write((JsonData) element);
+        }
+      }
+      chunk.flush();
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+    return chunk;
+  }
+
+  // a writer with the same options that writes into memory
+  abstract AbstractJsonWriter chunkWriter();
+
+  // copies everything a writer created by chunkWriter() wrote into this writer
+  abstract void writeChunk(AbstractJsonWriter chunk) throws IOException;
+
+  // copied verbatim unless its strings hold characters these options escape, then its parsed value is written instead
+  @Override
+  public final void write(final JsonRaw jsonRaw) throws IOException {
+    if (RawJsonSupport.rewrites(this.escapePolicy, jsonRaw)) {
+      write(jsonRaw.value());
+    } else {
+      writeVerbatim(jsonRaw);
+    }
+  }
+
+  // byte writers copy the encoded form instead
+  void writeVerbatim(final JsonRaw jsonRaw) throws IOException {
+    writeRaw(jsonRaw.json());
+  }
+
+  // generates the digits at the end of the array, returns where they start
+  static int formatLong(final long l, final char[] chars) {
+    int position = chars.length;
+    // negative so that the minimum value doesn't overflow
+    long value = 0 > l ? l : -l;
+    do {
+      final long quotient = value / 10;
+      chars[--position] = (char) ('0' + quotient * 10 - value);
+      value = quotient;
+    } while (0 != value);
+    if (0 > l) { chars[--position] = '-'; }
+    return position;
+  }
+
+  final void writeLong(final long l) throws IOException {
+    final char[] chars = this.longChars;
+    writeAscii(chars, formatLong(l, chars), chars.length);
+  }
+
+  // non-finite values aren't valid json, but they are written like they have always been
+  final void writeDouble(final double d) throws IOException {
+    if (!Double.isFinite(d)) {
+      writeRaw(Double.toString(d));
+      return;
+    }
+
+    DoubleToDecimal doubleToDecimal = this.doubleToDecimal;
+    if (null == doubleToDecimal) { this.doubleToDecimal = doubleToDecimal = new DoubleToDecimal(); }
+    writeAscii(doubleToDecimal.chars, 0, doubleToDecimal.render(d));
+  }
+
+  // writes a short run of ascii characters as-is
+  void writeAscii(final char[] chars, final int start, final int end) throws IOException {
+    for (int i = start; i < end; ++i) { put(chars[i]); }
+  }
+
+  // writes a single ascii character
+  abstract void put(int c) throws IOException;
+
+  // writes the characters as-is, encoding them as needed
+  abstract void writeRaw(String string, int start, int end) throws IOException;
+
+  final void writeRaw(final String string) throws IOException {
+    writeRaw(string, 0, string.length());
+  }
+
+  // quoted and escaped, characters that don't need escaping are written in runs as long as possible
+  void writeString(final String string) throws IOException {
+    put(Tokens.QUOTE);
+
+    final String[] asciiEscapes = this.escapePolicy.asciiEscapes;
+    final boolean asciiOnly = this.escapePolicy.asciiOnly;
+    final int length = string.length();
+    int run = 0;
+    for (int i = 0; i < length; ++i) {
+      final char c = string.charAt(i);
+      final String escape;
+      if (0x80 > c) {
+        escape = asciiEscapes[c];
+        if (null == escape) { continue; }
+      } else if (asciiOnly) {
+        escape = null;
+      } else if (!Character.isSurrogate(c)) {
+        continue;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+        ++i;
+        continue;
+      } else {
+        // a lone surrogate can't be encoded, but it can be escaped
+        escape = null;
+      }
+
+      if (run < i) { writeRaw(string, run, i); }
+      if (null != escape) {
+        writeRaw(escape);
+      } else {
+        writeUnicodeEscape(c);
+      }
+      run = i + 1;
+    }
+
+    if (run < length) { writeRaw(string, run, length); }
+    put(Tokens.QUOTE);
+  }
+
+  final void writeUnicodeEscape(final char c) throws IOException {
+    put(Escapable.BACKSLASH.codePoint);
+    put('u');
+    put(EscapePolicy.HEX_DIGITS[c >> 12]);
+    put(EscapePolicy.HEX_DIGITS[c >> 8 & 0xf]);
+    put(EscapePolicy.HEX_DIGITS[c >> 4 & 0xf]);
+    put(EscapePolicy.HEX_DIGITS[c & 0xf]);
+  }
+}
@@ -0,0 +1,62 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+// A read-only char view over the bytes of a ByteBuffer, only meaningful for ascii content (numbers and such)
+final class AsciiCharSequence implements CharSequence {
+
+  private final ByteBuffer buffer;
+  private final int start, end;
+
+  AsciiCharSequence(final ByteBuffer buffer) {
+    this(buffer, 0, buffer.limit());
+  }
+
+  private AsciiCharSequence(final ByteBuffer buffer, final int start, final int end) {
+    this.buffer = buffer;
+    this.start = start;
+    this.end = end;
+  }
+
+  @Override
+  public int length() {
+    return this.end - this.start;
+  }
+
+  @Override
+  public char charAt(final int index) {
+    return (char) (this.buffer.get(this.start + index) & 0xff);
+  }
+
+  @Override
+  public @NotNull CharSequence subSequence(final int start, final int end) {
+    return new AsciiCharSequence(this.buffer, this.start + start, this.start + end);
+  }
+
+  @Override
+  public @NotNull String toString() {
+    final StringBuilder builder = new StringBuilder(length());
+    for (int i = this.start; i < this.end; ++i) { builder.append((char) (this.buffer.get(i) & 0xff)); }
+    return builder.toString();
+  }
+}
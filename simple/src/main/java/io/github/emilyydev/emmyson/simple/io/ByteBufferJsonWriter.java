@@ -0,0 +1,144 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.JsonRaw;
+import io.github.emilyydev.emmyson.io.WriterOptions;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// Encodes straight into a (heap or direct) buffer starting at its position. When backed by a channel the buffer is
+// owned by the writer, direct, and drained into the channel every time it fills up, otherwise running out of space is
+// an error
+public final class ByteBufferJsonWriter extends AbstractJsonWriter {
+
+  private static final int CHANNEL_BUFFER_SIZE = 16 * 1024;
+
+  private final ByteBuffer out;
+  private final @Nullable WritableByteChannel channel;
+
+  public ByteBufferJsonWriter(final ByteBuffer out) {
+    this(out, WriterOptions.defaults());
+  }
+
+  public ByteBufferJsonWriter(final ByteBuffer out, final WriterOptions options) {
+    this(out, null, options);
+  }
+
+  public ByteBufferJsonWriter(final WritableByteChannel out, final WriterOptions options) {
+    this(ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE), out, options);
+  }
+
+  private ByteBufferJsonWriter(
+      final ByteBuffer out,
+      final @Nullable WritableByteChannel channel,
+      final WriterOptions options
+  ) {
+    super(options);
+    this.out = out;
+    this.channel = channel;
+  }
+
+  @Override
+  void put(final int b) throws IOException {
+    if (!this.out.hasRemaining()) { drain(); }
+    this.out.put((byte) b);
+  }
+
+  // copies every remaining byte, in as many rounds as needed when backed by a channel
+  private void put(final ByteBuffer bytes) throws IOException {
+    if (null == this.channel && this.out.remaining() < bytes.remaining()) { drain(); }
+    final int limit = bytes.limit();
+    while (bytes.hasRemaining()) {
+      if (!this.out.hasRemaining()) { drain(); }
+      bytes.limit(bytes.position() + Math.min(bytes.remaining(), this.out.remaining()));
+      this.out.put(bytes);
+      bytes.limit(limit);
+    }
+  }
+
+  private void drain() throws IOException {
+    final WritableByteChannel channel = this.channel;
+    if (null == channel) { throw new IOException("Not enough space remaining in buffer"); }
+    this.out.flip();
+    while (this.out.hasRemaining()) { channel.write(this.out); }
+    this.out.clear();
+  }
+
+  @Override
+  void writeRaw(final String string, final int start, final int end) throws IOException {
+    for (int i = start; i < end; ++i) {
+      final char c = string.charAt(i);
+      if (0x80 > c) {
+        put(c);
+      } else if (0x800 > c) {
+        put(0xc0 | c >> 6);
+        put(0x80 | c & 0x3f);
+      } else if (!Character.isSurrogate(c)) {
+        put(0xe0 | c >> 12);
+        put(0x80 | c >> 6 & 0x3f);
+        put(0x80 | c & 0x3f);
+      } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(string.charAt(i + 1))) {
+        final int codePoint = Character.toCodePoint(c, string.charAt(++i));
+        put(0xf0 | codePoint >> 18);
+        put(0x80 | codePoint >> 12 & 0x3f);
+        put(0x80 | codePoint >> 6 & 0x3f);
+        put(0x80 | codePoint & 0x3f);
+      } else {
+        // lone surrogate, replaced just like the standard UTF-8 encoder does
+        put('?');
+      }
+    }
+  }
+
+  @Override
+  void writeVerbatim(final JsonRaw jsonRaw) throws IOException {
+    put(jsonRaw.utf8());
+  }
+
+  @Override
+  AbstractJsonWriter chunkWriter() {
+    return new Utf8JsonWriter(new ByteArrayOutputStream(), this.options);
+  }
+
+  @Override
+  void writeChunk(final AbstractJsonWriter chunk) throws IOException {
+    final ByteArrayOutputStream bytes = (ByteArrayOutputStream) ((Utf8JsonWriter) chunk).out;
+    put(ByteBuffer.wrap(bytes.toByteArray()));
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (null != this.channel) { drain(); }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (null == this.channel) { return; }
+    try {
+      drain();
+    } finally {
+      this.channel.close();
+    }
+  }
+}
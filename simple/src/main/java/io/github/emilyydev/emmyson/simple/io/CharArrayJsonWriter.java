@@ -0,0 +1,120 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.io.WriterOptions;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+// Serializes into an owned char array that is handed over to the underlying writer in bulk every time it fills up
+public final class CharArrayJsonWriter extends AbstractJsonWriter {
+
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private final Writer out;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private int count = 0;
+
+  public CharArrayJsonWriter(final Appendable out) {
+    this(out, WriterOptions.defaults());
+  }
+
+  public CharArrayJsonWriter(final Appendable out, final WriterOptions options) {
+    super(options);
+    this.out = out instanceof Writer ? (Writer) out : new AppendableWriter(out);
+  }
+
+  @Override
+  void put(final int c) throws IOException {
+    if (this.buffer.length == this.count) { drain(); }
+    this.buffer[this.count++] = (char) c;
+  }
+
+  @Override
+  void writeRaw(final String string, final int start, final int end) throws IOException {
+    final int length = end - start;
+    if (this.buffer.length - this.count < length) {
+      drain();
+      if (this.buffer.length < length) {
+        this.out.write(string, start, length);
+        return;
+      }
+    }
+
+    string.getChars(start, end, this.buffer, this.count);
+    this.count += length;
+  }
+
+  @Override
+  void writeAscii(final char[] chars, final int start, final int end) throws IOException {
+    final int length = end - start;
+    if (this.buffer.length - this.count < length) { drain(); }
+    System.arraycopy(chars, start, this.buffer, this.count, length);
+    this.count += length;
+  }
+
+  @Override
+  AbstractJsonWriter chunkWriter() {
+    return new CharArrayJsonWriter(new CharArrayWriter(), this.options);
+  }
+
+  @Override
+  void writeChunk(final AbstractJsonWriter chunk) throws IOException {
+    drain();
+    ((CharArrayWriter) ((CharArrayJsonWriter) chunk).out).writeTo(this.out);
+  }
+
+  // everything written so far into a CharArrayWriter, which is left empty along with this writer
+  String takeString() throws IOException {
+    final CharArrayWriter out = (CharArrayWriter) this.out;
+    final String string;
+    if (0 == out.size()) {
+      string = new String(this.buffer, 0, this.count);
+    } else {
+      drain();
+      string = out.toString();
+    }
+
+    this.count = 0;
+    out.reset();
+    return string;
+  }
+
+  private void drain() throws IOException {
+    this.out.write(this.buffer, 0, this.count);
+    this.count = 0;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    drain();
+    this.out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      drain();
+    } finally {
+      this.out.close();
+    }
+  }
+}
@@ -0,0 +1,410 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.DataFactory;
+import io.github.emilyydev.emmyson.data.JsonArray;
+import io.github.emilyydev.emmyson.data.JsonBoolean;
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonNull;
+import io.github.emilyydev.emmyson.data.JsonNumber;
+import io.github.emilyydev.emmyson.data.JsonObject;
+import io.github.emilyydev.emmyson.data.JsonString;
+import io.github.emilyydev.emmyson.exception.JsonParseException;
+import io.github.emilyydev.emmyson.exception.MalformedJsonException;
+import io.github.emilyydev.emmyson.io.JsonReader;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Escapable;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Literal;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Token;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Tokens;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+import static io.github.emilyydev.emmyson.simple.io.ReaderSupport.asJsonParseException;
+import static io.github.emilyydev.emmyson.simple.io.ReaderSupport.expectedTokenButGot;
+import static io.github.emilyydev.emmyson.simple.io.ReaderSupport.hexDigit;
+import static io.github.emilyydev.emmyson.simple.io.ReaderSupport.isDigit;
+import static io.github.emilyydev.emmyson.simple.io.ReaderSupport.isWhitespace;
+import static io.github.emilyydev.emmyson.simple.io.ReaderSupport.reachedEndOfStream;
+
+// Scans the whole input in place by index, no intermediate buffering or copying involved
+public final class CharSequenceJsonReader implements JsonReader {
+
+  private final DataFactory factory;
+  private final CharSequence in;
+  private final int length;
+  private final @Nullable CompiledShape shape;
+  private int position = 0;
+
+  public CharSequenceJsonReader(final CharSequence in, final DataFactory factory) {
+    this(in, factory, null);
+  }
+
+  public CharSequenceJsonReader(final CharSequence in, final DataFactory factory, final @Nullable CompiledShape shape) {
+    this.in = in;
+    this.length = in.length();
+    this.factory = factory;
+    this.shape = shape;
+  }
+
+  @Override
+  public JsonData read() throws JsonParseException {
+    try {
+      return readValue();
+    } catch (final IOException exception) {
+      throw asJsonParseException(exception);
+    } catch (final MalformedJsonException exception) {
+      throw exception;
+    } catch (final Exception exception) {
+      throw new MalformedJsonException(exception);
+    }
+  }
+
+  // reads the one value making up the whole input, anything but whitespace after it is malformed
+  public JsonData readFully() throws JsonParseException {
+    final JsonData data = read();
+    if (this.position != this.length) { throw new MalformedJsonException("Unexpected trailing content at " + at()); }
+    return data;
+  }
+
+  private JsonData readValue() throws IOException {
+    skipWhitespaces();
+    if (this.position == this.length) { throw reachedEndOfStream(); }
+
+    final JsonData data;
+    final char c = this.in.charAt(this.position);
+    if (Tokens.QUOTE == c) {
+      data = readString();
+    } else if (Tokens.BEGIN_OBJECT == c) {
+      data = readObject();
+    } else if (Tokens.BEGIN_ARRAY == c) {
+      data = readArray();
+    } else if ('-' == c || isDigit(c)) {
+      data = readNumber();
+    } else if (startsWith(Literal.NULL)) {
+      data = readNull();
+    } else if (startsWith(Literal.TRUE) || startsWith(Literal.FALSE)) {
+      data = readBoolean();
+    } else {
+      throw new MalformedJsonException("Unknown or unexpected token '" + c + "' at " + at());
+    }
+
+    skipWhitespaces();
+    return data;
+  }
+
+  @Override
+  public JsonNull readNull() throws IOException {
+    if (startsWith(Literal.NULL)) {
+      this.position += Literal.NULL.length();
+      return this.factory.nil();
+    }
+
+    throw new JsonParseException("Expected 'null' at " + at() + ", got '" + peekMany(Literal.NULL.length()) + '\'');
+  }
+
+  @Override
+  public JsonBoolean readBoolean() throws IOException {
+    if (startsWith(Literal.TRUE)) {
+      this.position += Literal.TRUE.length();
+      return this.factory.bool(true);
+    } else if (startsWith(Literal.FALSE)) {
+      this.position += Literal.FALSE.length();
+      return this.factory.bool(false);
+    }
+
+    throw new JsonParseException(
+        "Expected a boolean value at " + at() + ", got '" + peekMany(Literal.FALSE.length()) + "' instead"
+    );
+  }
+
+  @Override
+  public JsonNumber readNumber() throws IOException {
+    final int start = this.position;
+    final boolean integral = skipNumber();
+    return ReaderSupport.number(this.factory, this.in, start, this.position, integral);
+  }
+
+  // returns whether the skipped number is integral
+  private boolean skipNumber() throws JsonParseException {
+    int state = ReaderSupport.NUMBER_START;
+    while (true) {
+      final int c = peek();
+      final int next = ReaderSupport.nextNumberState(state, c);
+      if (ReaderSupport.NUMBER_END == next) { return ReaderSupport.isIntegral(state); }
+      if (ReaderSupport.NUMBER_INVALID == next) { throw ReaderSupport.invalidNumber(c, at()); }
+      this.position++;
+      state = next;
+    }
+  }
+
+  @Override
+  public int[] readIntArray() throws IOException {
+    return readPrimitiveArray(new PrimitiveArrayBuilder.Ints());
+  }
+
+  @Override
+  public long[] readLongArray() throws IOException {
+    return readPrimitiveArray(new PrimitiveArrayBuilder.Longs());
+  }
+
+  @Override
+  public double[] readDoubleArray() throws IOException {
+    return readPrimitiveArray(new PrimitiveArrayBuilder.Doubles());
+  }
+
+  private <A> A readPrimitiveArray(final PrimitiveArrayBuilder<A> builder) throws IOException {
+    skipWhitespaces();
+    expect(Tokens.BEGIN_ARRAY);
+    skipWhitespaces();
+    if (Tokens.END_ARRAY == peek()) {
+      this.position++;
+      return builder.build();
+    }
+
+    while (true) {
+      skipWhitespaces();
+      final int start = this.position;
+      final boolean integral = skipNumber();
+      if (!builder.add(this.in, start, this.position, integral)) {
+        this.position = start;
+        throw new JsonParseException("Expected a number representable as " + builder.type + " at " + at());
+      }
+
+      skipWhitespaces();
+      final int read = next();
+      if (Tokens.END_ARRAY == read) { break; }
+      if (Tokens.SEPARATOR != read) { throw expectedTokenButGot(Tokens.END_ARRAY, read, at()); }
+    }
+
+    return builder.build();
+  }
+
+  @Override
+  public JsonString readString() throws IOException {
+    return this.factory.string(readStringValue());
+  }
+
+  private String readStringValue() throws IOException {
+    final int read = next();
+    if (Tokens.QUOTE != read) { throw new JsonParseException("Expected a string value at " + at()); }
+
+    final int start = this.position;
+    for (int i = start; i < this.length; ++i) {
+      final char c = this.in.charAt(i);
+      if (Tokens.QUOTE == c) {
+        this.position = i + 1;
+        return this.in.subSequence(start, i).toString();
+      } else if (Escapable.BACKSLASH.codePoint == c) {
+        this.position = i;
+        return readEscapedStringValue(start);
+      }
+    }
+
+    this.position = this.length;
+    throw reachedEndOfStream();
+  }
+
+  // slow path, the string contains escape sequences so it can't be taken as-is from the input
+  private String readEscapedStringValue(final int start) throws IOException {
+    final StringBuilder buffer = new StringBuilder(this.position - start + 16).append(this.in, start, this.position);
+    int runStart = this.position;
+    while (this.position < this.length) {
+      final char c = this.in.charAt(this.position);
+      if (Tokens.QUOTE == c) {
+        buffer.append(this.in, runStart, this.position++);
+        return buffer.toString();
+      } else if (Escapable.BACKSLASH.codePoint == c) {
+        buffer.append(this.in, runStart, this.position++);
+        readEscapeSequence(buffer);
+        runStart = this.position;
+      } else {
+        this.position++;
+      }
+    }
+
+    throw reachedEndOfStream();
+  }
+
+  private void readEscapeSequence(final StringBuilder buffer) throws IOException {
+    final int control = next();
+    if ('u' == control) {
+      if (this.position + 4 > this.length) {
+        this.position = this.length;
+        throw reachedEndOfStream();
+      }
+
+      int codePoint = 0;
+      for (int i = 0; i < 4; ++i) {
+        final int digit = hexDigit(this.in.charAt(this.position++));
+        if (0 > digit) {
+          throw new JsonParseException("Invalid unicode escape sequence at " + at());
+        }
+        codePoint = codePoint << 4 | digit;
+      }
+      buffer.append((char) codePoint);
+    } else if (!Escapable.readMatching(control, buffer)) {
+      throw new JsonParseException(
+          "Expected control character at " + at() + ", got '" + Character.toString(control) + "' instead"
+      );
+    }
+  }
+
+  @Override
+  public JsonArray readArray() throws IOException {
+    expect(Tokens.BEGIN_ARRAY);
+    skipWhitespaces();
+    if (Tokens.END_ARRAY == peek()) {
+      this.position++;
+      return this.factory.arrayOf();
+    }
+
+    final JsonArray.Builder builder = this.factory.arrayBuilder();
+    while (true) {
+      builder.add(readValue());
+      final int read = next();
+      if (Tokens.END_ARRAY == read) { break; }
+      if (Tokens.SEPARATOR != read) { throw expectedTokenButGot(Tokens.END_ARRAY, read, at()); }
+    }
+
+    return builder.build();
+  }
+
+  @Override
+  public JsonObject readObject() throws IOException {
+    expect(Tokens.BEGIN_OBJECT);
+    skipWhitespaces();
+    if (Tokens.END_OBJECT == peek()) {
+      this.position++;
+      return this.factory.objectOf();
+    }
+
+    if (null != this.shape) { return readShapedObject(this.shape); }
+    return readRemainingFields(this.factory.objectBuilder(), readStringValue());
+  }
+
+  // predicts every field name in order, only falls back to the generic path from the first deviation on
+  private JsonObject readShapedObject(final CompiledShape shape) throws IOException {
+    final JsonData[] values = new JsonData[shape.size()];
+    int slot = 0;
+    while (true) {
+      if (slot == values.length || !shape.rawMatchable[slot] || !skipName(shape.names[slot])) {
+        final String name = readStringValue();
+        if (slot == values.length || !shape.names[slot].equals(name)) {
+          final JsonObject.Builder builder = this.factory.objectBuilder(values.length);
+          for (int i = 0; i < slot; ++i) { builder.put(shape.names[i], values[i]); }
+          return readRemainingFields(builder, name);
+        }
+      }
+
+      skipWhitespaces();
+      expect(Tokens.OBJECT_MAPPER);
+      values[slot++] = readValue();
+      final int read = next();
+      if (Tokens.END_OBJECT == read) { break; }
+      if (Tokens.SEPARATOR != read) { throw expectedTokenButGot(Tokens.END_OBJECT, read, at()); }
+      skipWhitespaces();
+    }
+
+    if (slot == values.length) { return shape.assembler.apply(values); }
+
+    // a prefix of the shape
+    final JsonObject.Builder builder = this.factory.objectBuilder(slot);
+    for (int i = 0; i < slot; ++i) { builder.put(shape.names[i], values[i]); }
+    return builder.build();
+  }
+
+  // compares the raw field name in place, without decoding it. Only sound for names that are raw matchable
+  private boolean skipName(final String name) {
+    final int length = name.length();
+    final int end = this.position + length + 1;
+    if (end >= this.length || Tokens.QUOTE != this.in.charAt(this.position) || Tokens.QUOTE != this.in.charAt(end)) {
+      return false;
+    }
+
+    for (int i = 0; i < length; ++i) {
+      if (name.charAt(i) != this.in.charAt(this.position + 1 + i)) { return false; }
+    }
+
+    this.position = end + 1;
+    return true;
+  }
+
+  private JsonObject readRemainingFields(final JsonObject.Builder builder, String name) throws IOException {
+    while (true) {
+      skipWhitespaces();
+      expect(Tokens.OBJECT_MAPPER);
+      builder.put(name, readValue());
+      final int read = next();
+      if (Tokens.END_OBJECT == read) { break; }
+      if (Tokens.SEPARATOR != read) { throw expectedTokenButGot(Tokens.END_OBJECT, read, at()); }
+      skipWhitespaces();
+      name = readStringValue();
+    }
+
+    return builder.build();
+  }
+
+  private String at() {
+    return ReaderSupport.at(this.in, this.position);
+  }
+
+  private int peek() {
+    return this.position < this.length ? this.in.charAt(this.position) : Token.UNKNOWN.hint;
+  }
+
+  private int next() throws JsonParseException {
+    if (this.position == this.length) { throw reachedEndOfStream(); }
+    return this.in.charAt(this.position++);
+  }
+
+  private void expect(final int token) throws JsonParseException {
+    final int read = next();
+    if (token != read) { throw expectedTokenButGot(token, read, at()); }
+  }
+
+  private boolean startsWith(final String literal) {
+    final int length = literal.length();
+    if (this.position + length > this.length) { return false; }
+    for (int i = 0; i < length; ++i) {
+      if (literal.charAt(i) != this.in.charAt(this.position + i)) { return false; }
+    }
+    return true;
+  }
+
+  private String peekMany(final int count) throws JsonParseException {
+    if (this.position == this.length) { throw reachedEndOfStream(); }
+    return this.in.subSequence(this.position, Math.min(this.position + count, this.length)).toString();
+  }
+
+  private void skipWhitespaces() {
+    while (this.position < this.length && isWhitespace(this.in.charAt(this.position))) { this.position++; }
+  }
+
+
+  @Override
+  public void close() {
+    // assert end-of-stream was reached
+    skipWhitespaces();
+    if (this.position != this.length) {
+      throw new MalformedJsonException("Expected end of stream to be reached");
+    }
+  }
+}
@@ -0,0 +1,179 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.DataFactory;
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonString;
+import io.github.emilyydev.emmyson.exception.JsonParseException;
+import io.github.emilyydev.emmyson.exception.MalformedJsonException;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Tokens;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Whitespace;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static io.github.emilyydev.emmyson.simple.io.ReaderSupport.reachedEndOfStream;
+
+// Splits json arriving in chunks at the elements or members of its top level array or object, only tracking nesting
+// and strings on the way. Each element is parsed on its own as soon as it's complete, so only the bytes of the one
+// currently arriving are kept. A top level value that is neither is parsed as a whole once the input ends
+abstract class ChunkedJsonParser {
+
+  private static final int BEFORE = 0, ARRAY = 1, OBJECT = 2, SCALAR = 3, AFTER = 4;
+
+  private final DataFactory factory;
+  private byte[] pending = new byte[256];
+  private int length = 0;
+  private int state = BEFORE;
+  private int depth = 0;
+  private boolean inString = false;
+  private boolean escaped = false;
+  // where the name of an object member ends, if known yet
+  private int colon = -1;
+  private boolean expectingElement = false;
+
+  ChunkedJsonParser(final DataFactory factory) {
+    this.factory = factory;
+  }
+
+  // the top level is an array, called before any of its elements
+  abstract void beginArray() throws JsonParseException;
+
+  // the top level is an object, called before any of its members
+  abstract void beginObject() throws JsonParseException;
+
+  abstract void element(JsonData element);
+
+  abstract void member(JsonString name, JsonData value);
+
+  // the whole input is the given value, which is neither an array nor an object
+  abstract void value(JsonData value);
+
+  final void feed(final ByteBuffer chunk) throws JsonParseException {
+    for (int i = chunk.position(), limit = chunk.limit(); i < limit; ++i) { feed(chunk.get(i)); }
+    chunk.position(chunk.limit());
+  }
+
+  private void feed(final byte b) throws JsonParseException {
+    switch (this.state) {
+      case BEFORE:
+        if (Tokens.BEGIN_ARRAY == b) {
+          this.state = ARRAY;
+          beginArray();
+        } else if (Tokens.BEGIN_OBJECT == b) {
+          this.state = OBJECT;
+          beginObject();
+        } else if (!Whitespace.isWhitespace(b)) {
+          this.state = SCALAR;
+          append(b);
+        }
+        break;
+      case SCALAR:
+        append(b);
+        break;
+      case AFTER:
+        if (!Whitespace.isWhitespace(b)) {
+          throw new MalformedJsonException("Unexpected trailing content '" + (char) (b & 0xff) + "'");
+        }
+        break;
+      default:
+        feedNested(b);
+    }
+  }
+
+  private void feedNested(final byte b) throws JsonParseException {
+    if (this.inString) {
+      if (this.escaped) {
+        this.escaped = false;
+      } else if ('\\' == b) {
+        this.escaped = true;
+      } else if (Tokens.QUOTE == b) {
+        this.inString = false;
+      }
+    } else if (Tokens.QUOTE == b) {
+      this.inString = true;
+    } else if (Tokens.BEGIN_ARRAY == b || Tokens.BEGIN_OBJECT == b) {
+      ++this.depth;
+    } else if (0 != this.depth) {
+      if (Tokens.END_ARRAY == b || Tokens.END_OBJECT == b) { --this.depth; }
+    } else if (Tokens.SEPARATOR == b) {
+      endElement(false);
+      return;
+    } else if ((ARRAY == this.state ? Tokens.END_ARRAY : Tokens.END_OBJECT) == b) {
+      endElement(true);
+      this.state = AFTER;
+      return;
+    } else if (Tokens.OBJECT_MAPPER == b && OBJECT == this.state && -1 == this.colon) {
+      this.colon = this.length;
+      return;
+    }
+
+    append(b);
+  }
+
+  private void endElement(final boolean last) throws JsonParseException {
+    if (isBlank(0, this.length)) {
+      // only an empty array or object has nothing before its end
+      if (last && !this.expectingElement && -1 == this.colon) { return; }
+      throw new MalformedJsonException("Expected a value before '" + (last ? "end" : "separator") + "'");
+    }
+
+    if (ARRAY == this.state) {
+      element(parse(0, this.length));
+    } else if (-1 == this.colon) {
+      throw new MalformedJsonException("Expected ':' after member name");
+    } else {
+      final JsonData name = parse(0, this.colon);
+      if (!(name instanceof JsonString)) { throw new MalformedJsonException("Expected a string as member name"); }
+      member((JsonString) name, parse(this.colon, this.length));
+    }
+
+    this.length = 0;
+    this.colon = -1;
+    this.expectingElement = !last;
+  }
+
+  // the input ended
+  final void finish() throws JsonParseException {
+    if (SCALAR == this.state) {
+      this.state = AFTER;
+      value(parse(0, this.length));
+    } else if (AFTER != this.state) {
+      throw reachedEndOfStream();
+    }
+  }
+
+  private JsonData parse(final int from, final int to) throws JsonParseException {
+    if (isBlank(from, to)) { throw new MalformedJsonException("Expected a value"); }
+    return new ByteBufferJsonReader(ByteBuffer.wrap(this.pending, from, to - from), this.factory).readFully();
+  }
+
+  private boolean isBlank(final int from, final int to) {
+    for (int i = from; i < to; ++i) {
+      if (!Whitespace.isWhitespace(this.pending[i])) { return false; }
+    }
+    return true;
+  }
+
+  private void append(final byte b) {
+    if (this.pending.length == this.length) { this.pending = Arrays.copyOf(this.pending, this.length << 1); }
+    this.pending[this.length++] = b;
+  }
+}
@@ -0,0 +1,246 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.JsonArray;
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonObject;
+import io.github.emilyydev.emmyson.data.JsonString;
+import io.github.emilyydev.emmyson.io.WriterOptions;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Tokens;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+// Serializes only as far as the subscriber asked for. Arrays and objects are walked with an explicit stack so that
+// serialization can stop after any element, anything else is written whole and spills over into as many chunks as it
+// takes. Chunks are produced on whichever thread requests them
+public final class ChunkedJsonPublisher implements Flow.Publisher<ByteBuffer> {
+
+  private static final int CHUNK_SIZE = 16 * 1024;
+
+  public enum Layout {
+    // a single value
+    VALUE,
+    // every value as an element of a single array
+    ARRAY,
+    // every value followed by a line break
+    LINES
+  }
+
+  private final Supplier<? extends Iterator<? extends JsonData>> values;
+  private final Layout layout;
+  private final WriterOptions options;
+
+  // the values are only asked for once a subscriber shows up, and once per subscriber
+  public ChunkedJsonPublisher(
+      final Supplier<? extends Iterator<? extends JsonData>> values,
+      final Layout layout,
+      final WriterOptions options
+  ) {
+    this.values = values;
+    this.layout = layout;
+    this.options = options;
+  }
+
+  @Override
+  public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+    requireNonNull(subscriber, "subscriber");
+    final Iterator<? extends JsonData> values;
+    try {
+      values = this.values.get();
+    } catch (final RuntimeException exception) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(final long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+      });
+      subscriber.onError(exception);
+      return;
+    }
+
+    subscriber.onSubscribe(new ChunkSubscription(subscriber, values));
+  }
+
+  private final class ChunkSubscription implements Flow.Subscription {
+
+    private final Flow.Subscriber<? super ByteBuffer> subscriber;
+    private final Iterator<? extends JsonData> values;
+    private final Queue<ByteBuffer> chunks = new ArrayDeque<>();
+    private final Utf8JsonWriter writer;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger work = new AtomicInteger();
+    private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+    private volatile boolean cancelled = false;
+    private volatile @Nullable Throwable failure = null;
+    private boolean started = false;
+    private boolean finished = false;
+
+    ChunkSubscription(final Flow.Subscriber<? super ByteBuffer> subscriber, final Iterator<? extends JsonData> values) {
+      this.subscriber = subscriber;
+      this.values = values;
+      this.writer = new Utf8JsonWriter(new OutputStream() {
+        @Override
+        public void write(final int b) {
+          write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+          if (0 < len) { ChunkSubscription.this.chunks.add(ByteBuffer.wrap(Arrays.copyOfRange(b, off, off + len))); }
+        }
+      }, ChunkedJsonPublisher.this.options, CHUNK_SIZE);
+    }
+
+    @Override
+    public void request(final long n) {
+      if (0 >= n) {
+        this.failure = new IllegalArgumentException("Non-positive request: " + n);
+      } else {
+        long current;
+        do {
+          current = this.demand.get();
+        } while (!this.demand.compareAndSet(current, Long.MAX_VALUE - n < current ? Long.MAX_VALUE : current + n));
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      this.cancelled = true;
+    }
+
+    // only one thread at a time gets past here, any other one just lets it know there's more work to do
+    private void drain() {
+      if (0 != this.work.getAndIncrement()) { return; }
+      do {
+        try {
+          while (!this.cancelled) {
+            final Throwable failure = this.failure;
+            if (null != failure) {
+              this.cancelled = true;
+              this.subscriber.onError(failure);
+            } else if (this.finished && this.chunks.isEmpty()) {
+              this.cancelled = true;
+              this.subscriber.onComplete();
+            } else if (0 == this.demand.get()) {
+              break;
+            } else {
+              final ByteBuffer chunk = this.chunks.poll();
+              if (null == chunk) {
+                advance();
+              } else {
+                this.demand.decrementAndGet();
+                this.subscriber.onNext(chunk);
+              }
+            }
+          }
+        } catch (final IOException | RuntimeException exception) {
+          this.cancelled = true;
+          this.subscriber.onError(exception);
+        }
+      } while (0 != this.work.decrementAndGet());
+    }
+
+    // writes one more piece: a whole scalar, a name or the bounds of an array or object
+    private void advance() throws IOException {
+      final Utf8JsonWriter writer = this.writer;
+      final Layout layout = ChunkedJsonPublisher.this.layout;
+      if (!this.started) {
+        this.started = true;
+        if (Layout.ARRAY == layout) {
+          writer.put(Tokens.BEGIN_ARRAY);
+          this.stack.push(new Frame(this.values, false));
+        }
+      }
+
+      final Frame frame = this.stack.peek();
+      if (null == frame) {
+        if (this.values.hasNext()) {
+          writeValue(this.values.next());
+          if (Layout.LINES == layout && this.stack.isEmpty()) { writer.put('\n'); }
+        } else {
+          this.finished = true;
+          writer.flush();
+        }
+      } else if (frame.iterator.hasNext()) {
+        if (frame.first) {
+          frame.first = false;
+        } else {
+          writer.put(Tokens.SEPARATOR);
+        }
+
+        if (frame.object) {
+          final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) frame.iterator.next();
+          writer.write((JsonString) entry.getKey());
+          writer.put(Tokens.OBJECT_MAPPER);
+          writeValue((JsonData) entry.getValue());
+        } else {
+          writeValue((JsonData) frame.iterator.next());
+        }
+      } else {
+        this.stack.pop();
+        writer.put(frame.object ? Tokens.END_OBJECT : Tokens.END_ARRAY);
+        // values are followed by a line break once they're complete
+        if (Layout.LINES == layout && this.stack.isEmpty()) { writer.put('\n'); }
+      }
+    }
+
+    private void writeValue(final JsonData value) throws IOException {
+      if (value instanceof JsonArray) {
+        this.writer.put(Tokens.BEGIN_ARRAY);
+        this.stack.push(new Frame(((JsonArray) value).stream().iterator(), false));
+      } else if (value instanceof JsonObject) {
+        this.writer.put(Tokens.BEGIN_OBJECT);
+        this.stack.push(new Frame(((JsonObject) value).asMap().entrySet().iterator(), true));
+      } else {
+        this.writer.write(value);
+      }
+    }
+  }
+
+  private static final class Frame {
+
+    final Iterator<?> iterator;
+    final boolean object;
+    boolean first = true;
+
+    Frame(final Iterator<?> iterator, final boolean object) {
+      this.iterator = iterator;
+      this.object = object;
+    }
+  }
+}
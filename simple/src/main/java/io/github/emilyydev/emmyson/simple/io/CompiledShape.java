@@ -0,0 +1,76 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonObject;
+import io.github.emilyydev.emmyson.io.JsonShape;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+// Everything the readers need to predict the fields of a shape, computed once: the names as they'd appear raw in
+// the input, and how to assemble the values read for each slot into an object
+public final class CompiledShape implements JsonShape {
+
+  final String[] names;
+  final byte[][] encodedNames;
+  // names that can't contain an escape sequence or the closing quote, so they're safe to match raw
+  final boolean[] rawMatchable;
+  final Function<? super JsonData[], ? extends JsonObject> assembler;
+  private final List<String> namesList;
+
+  public CompiledShape(final String[] names, final Function<? super JsonData[], ? extends JsonObject> assembler) {
+    this.names = names;
+    this.encodedNames = new byte[names.length][];
+    this.rawMatchable = new boolean[names.length];
+    for (int i = 0; i < names.length; ++i) {
+      this.encodedNames[i] = names[i].getBytes(StandardCharsets.UTF_8);
+      this.rawMatchable[i] = names[i].chars().noneMatch(c -> '"' == c || '\\' == c || ' ' > c);
+    }
+    this.assembler = assembler;
+    this.namesList = List.of(names);
+  }
+
+  int size() {
+    return this.names.length;
+  }
+
+  @Override
+  public List<String> names() {
+    return this.namesList;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    return this == other || other instanceof CompiledShape && Arrays.equals(this.names, ((CompiledShape) other).names);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(this.names);
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledShape" + this.namesList;
+  }
+}
@@ -0,0 +1,287 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import java.math.BigInteger;
+
+import static java.lang.Math.multiplyHigh;
+
+// Shortest decimal that rounds back to the same double, laid out exactly like Double#toString does (since JDK 19) but
+// straight into a char array. This is Raffaello Giulietti's Schubfach, see "The Schubfach way to render doubles"
+final class DoubleToDecimal {
+
+  // the longest rendering, i.e. "-2.2250738585072014E-308"
+  private static final int MAX_CHARS = 24;
+
+  private static final int P = 53; // precision
+  private static final int Q_MIN = -1074; // minimum exponent of the unit in the last place
+  private static final long C_MIN = 1L << P - 1; // minimum normal significand
+  private static final int BQ_MASK = 0x7ff;
+  private static final long T_MASK = (1L << P - 1) - 1;
+  private static final long C_TINY = 3; // subnormal significands below this need an additional digit
+  private static final int H = 17; // max number of significant digits
+  private static final int K_MIN = -324, K_MAX = 292;
+  private static final long MASK_63 = (1L << 63) - 1;
+  private static final int MASK_28 = (1 << 28) - 1;
+
+  // g1 and g0 of every power of ten from K_MIN to K_MAX, the upper and lower 63 bits of floor(10^-k 2^r) + 1 where r
+  // leaves the product in [2^125, 2^126)
+  private static final long[] G = new long[K_MAX - K_MIN + 1 << 1];
+  private static final long[] POW10 = new long[H + 1];
+
+  static {
+    for (int k = K_MIN; k <= K_MAX; ++k) {
+      final int r = 125 - flog2pow10(-k);
+      BigInteger numerator = BigInteger.TEN.pow(Math.max(-k, 0));
+      BigInteger denominator = BigInteger.TEN.pow(Math.max(k, 0));
+      if (0 < r) {
+        numerator = numerator.shiftLeft(r);
+      } else {
+        denominator = denominator.shiftLeft(-r);
+      }
+      final BigInteger g = numerator.divide(denominator).add(BigInteger.ONE);
+      G[k - K_MIN << 1] = g.shiftRight(63).longValueExact();
+      G[(k - K_MIN << 1) + 1] = g.longValue() & MASK_63;
+    }
+
+    POW10[0] = 1;
+    for (int i = 1; i < POW10.length; ++i) { POW10[i] = 10 * POW10[i - 1]; }
+  }
+
+  // floor(log10(2^e))
+  private static int flog10pow2(final int e) {
+    return (int) (e * 661_971_961_083L >> 41);
+  }
+
+  // floor(log10(3/4 2^e))
+  private static int flog10threeQuartersPow2(final int e) {
+    return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+  }
+
+  // floor(log2(10^e))
+  private static int flog2pow10(final int e) {
+    return (int) (e * 913_124_641_741L >> 38);
+  }
+
+  // holds the rendering of the last double
+  final char[] chars = new char[MAX_CHARS];
+  private int index;
+
+  // renders the finite double, returns the number of characters it takes
+  int render(final double v) {
+    this.index = 0;
+    toDecimal(v);
+    return this.index;
+  }
+
+  private void toDecimal(final double v) {
+    final long bits = Double.doubleToRawLongBits(v);
+    final long t = bits & T_MASK;
+    final int bq = (int) (bits >>> P - 1) & BQ_MASK;
+    if (0 > bits) { append('-'); }
+    if (0 != bq) {
+      // normal
+      final int mq = -Q_MIN + 1 - bq;
+      final long c = C_MIN | t;
+      // integers are rendered as they are
+      if (0 < mq && P > mq) {
+        final long f = c >> mq;
+        if (f << mq == c) {
+          toChars(f, 0);
+          return;
+        }
+      }
+      toDecimal(-mq, c, 0);
+    } else if (0 != t) {
+      // subnormal
+      if (C_TINY > t) {
+        toDecimal(Q_MIN, 10 * t, -1);
+      } else {
+        toDecimal(Q_MIN, t, 0);
+      }
+    } else {
+      append('0');
+      append('.');
+      append('0');
+    }
+  }
+
+  private void toDecimal(final int q, final long c, final int dk) {
+    final int out = (int) c & 1;
+    final long cb = c << 2;
+    final long cbr = cb + 2;
+    final long cbl;
+    final int k;
+    if (C_MIN != c || Q_MIN == q) {
+      cbl = cb - 2;
+      k = flog10pow2(q);
+    } else {
+      // the lower boundary is closer
+      cbl = cb - 1;
+      k = flog10threeQuartersPow2(q);
+    }
+
+    final int h = q + flog2pow10(-k) + 2;
+    final long g1 = G[k - K_MIN << 1];
+    final long g0 = G[(k - K_MIN << 1) + 1];
+    final long vb = rop(g1, g0, cb << h);
+    final long vbl = rop(g1, g0, cbl << h);
+    final long vbr = rop(g1, g0, cbr << h);
+
+    final long s = vb >> 2;
+    if (100 <= s) {
+      // try with one digit less first, floor(s / 10) = floor(s 115_292_150_460_684_698 / 2^64)
+      final long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+      final long tp10 = sp10 + 10;
+      final boolean upin = vbl + out <= sp10 << 2;
+      final boolean wpin = (tp10 << 2) + out <= vbr;
+      if (upin != wpin) {
+        toChars(upin ? sp10 : tp10, k);
+        return;
+      }
+    }
+
+    final long t = s + 1;
+    final boolean uin = vbl + out <= s << 2;
+    final boolean win = (t << 2) + out <= vbr;
+    if (uin != win) {
+      toChars(uin ? s : t, k + dk);
+      return;
+    }
+
+    // both candidates are in the rounding interval, pick the closest one or the even one on ties
+    final long cmp = vb - (s + t << 1);
+    toChars(0 > cmp || 0 == cmp && 0 == (s & 1) ? s : t, k + dk);
+  }
+
+  // rounding to odd of g cp 2^-127
+  private static long rop(final long g1, final long g0, final long cp) {
+    final long x1 = multiplyHigh(g0, cp);
+    final long y0 = g1 * cp;
+    final long y1 = multiplyHigh(g1, cp);
+    final long z = (y0 >>> 1) + x1;
+    final long vbp = y1 + (z >>> 63);
+    return vbp | (z & MASK_63) + MASK_63 >>> 63;
+  }
+
+  // renders f 10^e
+  private void toChars(long f, int e) {
+    // 10^(len - 1) <= f < 10^len
+    int len = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+    if (POW10[len] <= f) { len++; }
+
+    // scale f to exactly H digits, so that f 10^(e - H) = 0.f 10^e
+    f *= POW10[H - len];
+    e += len;
+
+    // split into the leading digit h and two halves m and l of 8 digits each, small enough to extract them with ints
+    final long hm = multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+    final int l = (int) (f - 100_000_000L * hm);
+    final int h = (int) (hm * 1_441_151_881L >>> 57);
+    final int m = (int) (hm - 100_000_000 * h);
+
+    if (0 < e && 7 >= e) {
+      // plain format without leading zeroes
+      appendDigit(h);
+      int y = y(m);
+      int i = 1;
+      for (; i < e; ++i) {
+        final int digit = 10 * y;
+        appendDigit(digit >>> 28);
+        y = digit & MASK_28;
+      }
+      append('.');
+      for (; i <= 8; ++i) {
+        final int digit = 10 * y;
+        appendDigit(digit >>> 28);
+        y = digit & MASK_28;
+      }
+      lowDigits(l);
+    } else if (-3 < e && 0 >= e) {
+      // plain format with leading zeroes
+      appendDigit(0);
+      append('.');
+      for (; 0 > e; ++e) { appendDigit(0); }
+      appendDigit(h);
+      append8Digits(m);
+      lowDigits(l);
+    } else {
+      // scientific notation
+      appendDigit(h);
+      append('.');
+      append8Digits(m);
+      lowDigits(l);
+      exponent(e - 1);
+    }
+  }
+
+  private void lowDigits(final int l) {
+    if (0 != l) { append8Digits(l); }
+    // trailing zeroes are removed, but not the one right after the point
+    while ('0' == this.chars[this.index - 1]) { this.index--; }
+    if ('.' == this.chars[this.index - 1]) { this.index++; }
+  }
+
+  // left-to-right extraction of exactly 8 digits, see "Faster Remainder by Direct Computation" by D. Lemire et al.
+  private void append8Digits(final int m) {
+    int y = y(m);
+    for (int i = 0; i < 8; ++i) {
+      final int digit = 10 * y;
+      appendDigit(digit >>> 28);
+      y = digit & MASK_28;
+    }
+  }
+
+  // floor((a + 1) 2^28 / 10^8) - 1
+  private static int y(final int a) {
+    return (int) (multiplyHigh((long) (a + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+  }
+
+  private void exponent(int e) {
+    append('E');
+    if (0 > e) {
+      append('-');
+      e = -e;
+    }
+    if (10 > e) {
+      appendDigit(e);
+      return;
+    }
+
+    int d;
+    if (100 <= e) {
+      // floor(e / 100) = floor(1_311 e / 2^17)
+      d = e * 1_311 >>> 17;
+      appendDigit(d);
+      e -= 100 * d;
+    }
+    // floor(e / 10) = floor(103 e / 2^10)
+    d = e * 103 >>> 10;
+    appendDigit(d);
+    appendDigit(e - 10 * d);
+  }
+
+  private void appendDigit(final int digit) {
+    this.chars[this.index++] = (char) ('0' + digit);
+  }
+
+  private void append(final char c) {
+    this.chars[this.index++] = c;
+  }
+}
@@ -0,0 +1,106 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.io.WriterOptions;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Escapable;
+
+// The escape sequence of every ascii character for a given set of writer options, there's only a handful of possible
+// combinations so all of them are built once and shared
+final class EscapePolicy {
+
+  static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private static final EscapePolicy[] POLICIES = new EscapePolicy[8];
+
+  static {
+    for (int i = 0; i < POLICIES.length; ++i) {
+      POLICIES[i] = new EscapePolicy(i, 0 != (i & 4), 0 != (i & 2), 0 != (i & 1));
+    }
+  }
+
+  static EscapePolicy of(final WriterOptions options) {
+    final int index = (options.htmlSafe() ? 4 : 0) | (options.asciiOnly() ? 2 : 0)
+                      | (options.escapeForwardSlash() ? 1 : 0);
+    return POLICIES[index];
+  }
+
+  // identifies the policy among all possible ones
+  final int id;
+  // null if the character is written as-is
+  final String[] asciiEscapes = new String[0x80];
+  final boolean asciiOnly;
+
+  private EscapePolicy(
+      final int id,
+      final boolean htmlSafe,
+      final boolean asciiOnly,
+      final boolean escapeForwardSlash
+  ) {
+    this.id = id;
+    this.asciiOnly = asciiOnly;
+    for (int c = 0; c < this.asciiEscapes.length; ++c) {
+      final int control = Escapable.controlOf(c);
+      if (htmlSafe && Escapable.isHtmlEscapable(c) || -1 == control && !Escapable.isPrintable(c)) {
+        this.asciiEscapes[c] = unicodeEscape(c);
+      } else if (-1 != control && (escapeForwardSlash || Escapable.FORWARD_SLASH.codePoint != c)) {
+        this.asciiEscapes[c] = "\\" + (char) control;
+      }
+    }
+
+    if (!asciiOnly) {
+      // DEL is valid json as-is
+      this.asciiEscapes[0x7f] = null;
+    }
+  }
+
+  // whether serialized json would be written differently by this policy, that is, if any character in its strings
+  // would be escaped, or escaped differently, when writing its parsed value
+  boolean rewrites(final String json) {
+    final String[] asciiEscapes = this.asciiEscapes;
+    final int length = json.length();
+    boolean inString = false;
+    for (int i = 0; i < length; ++i) {
+      final char c = json.charAt(i);
+      if (!inString) {
+        // whitespace and tokens are never escaped
+        inString = Escapable.QUOTE.codePoint == c;
+      } else if (Escapable.QUOTE.codePoint == c) {
+        inString = false;
+      } else if (Escapable.BACKSLASH.codePoint == c) {
+        // only an escaped quote may be escaped differently, any other escape sequence means the same either way
+        final int escaped = json.charAt(++i);
+        if (Escapable.QUOTE.codePoint == escaped && 'u' == asciiEscapes[escaped].charAt(1)) { return true; }
+      } else if (0x80 > c) {
+        if (null != asciiEscapes[c]) { return true; }
+      } else if (this.asciiOnly) {
+        return true;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(json.charAt(i + 1))) {
+        ++i;
+      } else if (Character.isSurrogate(c)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String unicodeEscape(final int c) {
+    return "\\u00" + HEX_DIGITS[c >> 4] + HEX_DIGITS[c & 0xf];
+  }
+}
@@ -0,0 +1,201 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.DataFactory;
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonString;
+import io.github.emilyydev.emmyson.exception.JsonParseException;
+import io.github.emilyydev.emmyson.exception.MalformedJsonException;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+// Every subscriber subscribes to the chunks on its own. Chunks are only requested, one at a time, while elements are
+// demanded and none parsed are left, and parsing happens on whichever thread delivers or demands next
+public final class JsonElementPublisher implements Flow.Publisher<JsonData> {
+
+  private final Flow.Publisher<ByteBuffer> chunks;
+  private final DataFactory factory;
+
+  public JsonElementPublisher(final Flow.Publisher<ByteBuffer> chunks, final DataFactory factory) {
+    this.chunks = chunks;
+    this.factory = factory;
+  }
+
+  @Override
+  public void subscribe(final Flow.Subscriber<? super JsonData> subscriber) {
+    requireNonNull(subscriber, "subscriber");
+    final ElementSubscription subscription = new ElementSubscription(subscriber, this.factory);
+    subscriber.onSubscribe(subscription);
+    this.chunks.subscribe(subscription);
+  }
+
+  private static final class ElementSubscription extends ChunkedJsonParser
+      implements Flow.Subscription, Flow.Subscriber<ByteBuffer> {
+
+    private final Flow.Subscriber<? super JsonData> subscriber;
+    private final Queue<JsonData> elements = new ArrayDeque<>();
+    private final Queue<ByteBuffer> chunks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger work = new AtomicInteger();
+    private volatile Flow.@Nullable Subscription upstream = null;
+    private volatile @Nullable Throwable failure = null;
+    private volatile boolean awaitingChunk = false;
+    private volatile boolean chunksDone = false;
+    private volatile boolean cancelled = false;
+
+    ElementSubscription(final Flow.Subscriber<? super JsonData> subscriber, final DataFactory factory) {
+      super(factory);
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long n) {
+      if (0 >= n) {
+        this.failure = new IllegalArgumentException("Non-positive request: " + n);
+      } else {
+        long current;
+        do {
+          current = this.demand.get();
+        } while (!this.demand.compareAndSet(current, Long.MAX_VALUE - n < current ? Long.MAX_VALUE : current + n));
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      this.cancelled = true;
+      final Flow.Subscription upstream = this.upstream;
+      if (null != upstream) { upstream.cancel(); }
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      requireNonNull(subscription, "subscription");
+      if (null != this.upstream || this.cancelled) {
+        subscription.cancel();
+        return;
+      }
+
+      this.upstream = subscription;
+      drain();
+    }
+
+    @Override
+    public void onNext(final ByteBuffer item) {
+      this.chunks.add(requireNonNull(item, "item"));
+      this.awaitingChunk = false;
+      drain();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      this.failure = requireNonNull(throwable, "throwable");
+      drain();
+    }
+
+    @Override
+    public void onComplete() {
+      this.chunksDone = true;
+      drain();
+    }
+
+    // only one thread at a time gets past here, any other one just lets it know there's more work to do
+    private void drain() {
+      if (0 != this.work.getAndIncrement()) { return; }
+      do {
+        while (!this.cancelled) {
+          final Throwable failure = this.failure;
+          if (null != failure) {
+            cancel();
+            this.subscriber.onError(failure);
+            break;
+          }
+
+          if (!this.elements.isEmpty()) {
+            if (0 == this.demand.get()) { break; }
+            this.demand.decrementAndGet();
+            this.subscriber.onNext(this.elements.poll());
+            continue;
+          }
+
+          // read before looking for chunks, all of them arrive before the end
+          final boolean chunksDone = this.chunksDone;
+          final ByteBuffer chunk = this.chunks.poll();
+          try {
+            if (null != chunk) {
+              feed(chunk);
+              continue;
+            } else if (chunksDone) {
+              finish();
+              if (this.elements.isEmpty()) {
+                this.cancelled = true;
+                this.subscriber.onComplete();
+              }
+              continue;
+            }
+          } catch (final JsonParseException | RuntimeException exception) {
+            this.failure = exception;
+            continue;
+          }
+
+          final Flow.Subscription upstream = this.upstream;
+          if (0 != this.demand.get() && !this.awaitingChunk && null != upstream) {
+            this.awaitingChunk = true;
+            upstream.request(1);
+          }
+          break;
+        }
+      } while (0 != this.work.decrementAndGet());
+    }
+
+    @Override
+    void beginArray() {
+    }
+
+    @Override
+    void beginObject() {
+      throw new MalformedJsonException("Expected an array but got an object");
+    }
+
+    @Override
+    void element(final JsonData element) {
+      this.elements.add(element);
+    }
+
+    @Override
+    void member(final JsonString name, final JsonData value) {
+      throw new AssertionError();
+    }
+
+    @Override
+    void value(final JsonData value) {
+      throw new MalformedJsonException("Expected an array but got a single value");
+    }
+  }
+}
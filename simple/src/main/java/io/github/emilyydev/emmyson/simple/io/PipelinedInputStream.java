@@ -0,0 +1,209 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.io.Compression;
+import io.github.emilyydev.emmyson.util.Throwing;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+// Reads (and decompresses) the upstream on a background thread into a small ring of chunks, so that inflating the
+// input and parsing it happen concurrently. The upstream is opened on the background thread as well because opening
+// some streams (i.e. GZIP) already involves reading from the source
+public final class PipelinedInputStream extends InputStream {
+
+  static final int CHUNK_SIZE = 64 * 1024;
+  static final int CHUNK_COUNT = 4;
+
+  // marks the end of the upstream, or that it failed
+  private static final Chunk END = new Chunk(0);
+
+  public static InputStream decompressing(final InputStream in, final Compression compression) {
+    switch (compression) {
+      case GZIP:
+        return new PipelinedInputStream(() -> new GZIPInputStream(new Unclosed(in), CHUNK_SIZE));
+      case DEFLATE:
+        return new PipelinedInputStream(
+            () -> new InflaterInputStream(new BufferedInputStream(new Unclosed(in), CHUNK_SIZE))
+        );
+      default:
+        return new Unclosed(in);
+    }
+  }
+
+  private final BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(CHUNK_COUNT);
+  // one extra slot so END can always be queued without blocking
+  private final BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(CHUNK_COUNT + 1);
+  private final Thread producer;
+  private volatile boolean closed = false;
+  private volatile @Nullable IOException failure = null;
+  private @Nullable Chunk current = null;
+  private int offset = 0;
+  private boolean ended = false;
+
+  public PipelinedInputStream(final Throwing.Supplier<? extends InputStream> upstream) {
+    for (int i = 0; i < CHUNK_COUNT; ++i) { this.free.add(new Chunk(CHUNK_SIZE)); }
+    this.producer = new Thread(() -> produce(upstream), "EmmySON pipelined input");
+    this.producer.setDaemon(true);
+    this.producer.start();
+  }
+
+  private void produce(final Throwing.Supplier<? extends InputStream> upstream) {
+    try (final InputStream in = upstream.tryGet()) {
+      boolean eof = false;
+      while (!eof && !this.closed) {
+        final Chunk chunk = this.free.take();
+        final byte[] data = chunk.data;
+        int length = 0;
+        while (length < data.length && !this.closed) {
+          final int read = in.read(data, length, data.length - length);
+          if (-1 == read) {
+            eof = true;
+            break;
+          }
+          length += read;
+        }
+
+        chunk.length = length;
+        if (0 < length) {
+          this.filled.put(chunk);
+        } else {
+          this.free.put(chunk);
+        }
+      }
+    } catch (final IOException exception) {
+      this.failure = exception;
+    } catch (final Throwable throwable) {
+      this.failure = new IOException(throwable);
+    }
+
+    this.filled.offer(END);
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!nextChunk()) { return -1; }
+    return this.current.data[this.offset++] & 0xff;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    if (0 == len) { return 0; }
+    if (!nextChunk()) { return -1; }
+
+    final Chunk chunk = this.current;
+    final int count = Math.min(len, chunk.length - this.offset);
+    System.arraycopy(chunk.data, this.offset, b, off, count);
+    this.offset += count;
+    return count;
+  }
+
+  @Override
+  public int available() {
+    final Chunk chunk = this.current;
+    return null == chunk ? 0 : chunk.length - this.offset;
+  }
+
+  private boolean nextChunk() throws IOException {
+    if (this.closed) { throw new IOException("Stream closed"); }
+    if (null != this.current && this.offset < this.current.length) { return true; }
+    if (this.ended) { return false; }
+
+    if (null != this.current) {
+      this.free.offer(this.current);
+      this.current = null;
+    }
+
+    final Chunk chunk;
+    try {
+      chunk = this.filled.take();
+    } catch (final InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+
+    if (END == chunk) {
+      this.ended = true;
+      final IOException failure = this.failure;
+      if (null != failure) { throw new IOException(failure.getMessage(), failure); }
+      return false;
+    }
+
+    this.current = chunk;
+    this.offset = 0;
+    return true;
+  }
+
+  // waits for the producer to stop so that the source stream isn't read anymore once this returns, which takes at
+  // most as long as the read it's blocked in
+  @Override
+  public void close() throws IOException {
+    if (this.closed) { return; }
+    this.closed = true;
+    // hand every chunk back so the producer can wake up, notice and stop. Interrupting it instead would close
+    // interruptible channels backing the source stream, which isn't ours to close
+    if (null != this.current) {
+      this.free.offer(this.current);
+      this.current = null;
+    }
+
+    Chunk chunk;
+    while (null != (chunk = this.filled.poll())) {
+      if (END != chunk) { this.free.offer(chunk); }
+    }
+
+    try {
+      this.producer.join();
+    } catch (final InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  private static final class Chunk {
+
+    final byte[] data;
+    int length = 0;
+
+    Chunk(final int capacity) {
+      this.data = new byte[capacity];
+    }
+  }
+
+  // the source stream is owned by the caller
+  private static final class Unclosed extends FilterInputStream {
+
+    Unclosed(final InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,220 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.io.Compression;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Hands filled chunks over to a background thread that writes (and compresses) them downstream, so that serializing,
+// compressing and writing the output happen concurrently. Once every chunk is in flight the writing thread blocks
+// until the background thread catches up, and any failure downstream is rethrown on the next write, flush or close
+public final class PipelinedOutputStream extends OutputStream {
+
+  static final int CHUNK_SIZE = 64 * 1024;
+  static final int CHUNK_COUNT = 4;
+
+  public static OutputStream compressing(final OutputStream out, final Compression compression) throws IOException {
+    switch (compression) {
+      case GZIP:
+        return new PipelinedOutputStream(new GZIPOutputStream(out, CHUNK_SIZE));
+      case DEFLATE:
+        return new PipelinedOutputStream(new DeflaterOutputStream(new BufferedOutputStream(out, CHUNK_SIZE)));
+      default:
+        return out;
+    }
+  }
+
+  private final BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(CHUNK_COUNT);
+  // one extra slot for the flush or close marker, there's never more than one of them in flight
+  private final BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(CHUNK_COUNT + 1);
+  private volatile @Nullable IOException failure = null;
+  private @Nullable Chunk current = null;
+  private boolean closed = false;
+
+  public PipelinedOutputStream(final OutputStream downstream) {
+    this(downstream, task -> {
+      final Thread consumer = new Thread(task, "EmmySON pipelined output");
+      consumer.setDaemon(true);
+      consumer.start();
+    });
+  }
+
+  // the executor runs the background side, which only finishes once this stream is closed. Interrupting it fails the
+  // stream rather than ending it early
+  public PipelinedOutputStream(final OutputStream downstream, final Executor executor) {
+    for (int i = 0; i < CHUNK_COUNT; ++i) { this.free.add(new Chunk(CHUNK_SIZE)); }
+    executor.execute(() -> consume(downstream));
+  }
+
+  // keeps recycling chunks and counting down markers after a failure or an interrupt, so the writing side never blocks
+  // forever. Only the close marker ends it
+  private void consume(final OutputStream downstream) {
+    while (true) {
+      final Chunk chunk;
+      try {
+        chunk = this.filled.take();
+      } catch (final InterruptedException exception) {
+        fail(new InterruptedIOException());
+        continue;
+      }
+
+      if (null == chunk.signal) {
+        if (null == this.failure) {
+          try {
+            downstream.write(chunk.data, 0, chunk.length);
+          } catch (final Throwable throwable) {
+            fail(throwable);
+          }
+        }
+
+        chunk.length = 0;
+        this.free.offer(chunk);
+      } else {
+        try {
+          if (chunk.close) {
+            downstream.close();
+          } else if (null == this.failure) {
+            downstream.flush();
+          }
+        } catch (final Throwable throwable) {
+          fail(throwable);
+        }
+
+        chunk.signal.countDown();
+        if (chunk.close) { return; }
+      }
+    }
+  }
+
+  private void fail(final Throwable throwable) {
+    if (null == this.failure) {
+      this.failure = throwable instanceof IOException ? (IOException) throwable : new IOException(throwable);
+    }
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    final Chunk chunk = chunk();
+    chunk.data[chunk.length++] = (byte) b;
+    if (chunk.data.length == chunk.length) { handOff(); }
+  }
+
+  @Override
+  public void write(final byte[] b, int off, int len) throws IOException {
+    while (0 < len) {
+      final Chunk chunk = chunk();
+      final int count = Math.min(len, chunk.data.length - chunk.length);
+      System.arraycopy(b, off, chunk.data, chunk.length, count);
+      chunk.length += count;
+      off += count;
+      len -= count;
+      if (chunk.data.length == chunk.length) { handOff(); }
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (this.closed) { throw new IOException("Stream closed"); }
+    rethrowFailure();
+    if (null != this.current && 0 < this.current.length) { handOff(); }
+    signal(false);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (this.closed) { return; }
+    if (null != this.current && 0 < this.current.length) {
+      this.filled.add(this.current);
+      this.current = null;
+    }
+
+    this.closed = true;
+    signal(true);
+  }
+
+  private Chunk chunk() throws IOException {
+    if (this.closed) { throw new IOException("Stream closed"); }
+    rethrowFailure();
+    if (null == this.current) {
+      try {
+        this.current = this.free.take();
+      } catch (final InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+
+    return this.current;
+  }
+
+  private void handOff() {
+    // never blocks, the queue has room for every chunk
+    this.filled.add(this.current);
+    this.current = null;
+  }
+
+  private void signal(final boolean close) throws IOException {
+    final Chunk marker = new Chunk(new CountDownLatch(1), close);
+    this.filled.add(marker);
+    try {
+      marker.signal.await();
+    } catch (final InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+
+    rethrowFailure();
+  }
+
+  private void rethrowFailure() throws IOException {
+    final IOException failure = this.failure;
+    if (null != failure) { throw new IOException(failure.getMessage(), failure); }
+  }
+
+  private static final class Chunk {
+
+    final byte[] data;
+    final @Nullable CountDownLatch signal;
+    final boolean close;
+    int length = 0;
+
+    Chunk(final int capacity) {
+      this.data = new byte[capacity];
+      this.signal = null;
+      this.close = false;
+    }
+
+    Chunk(final CountDownLatch signal, final boolean close) {
+      this.data = new byte[0];
+      this.signal = signal;
+      this.close = close;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import java.util.Arrays;
+
+// Accumulates the numbers of a json array straight into a growable primitive array, no JsonData involved
+abstract class PrimitiveArrayBuilder<A> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  final String type;
+  int size = 0;
+
+  PrimitiveArrayBuilder(final String type) {
+    this.type = type;
+  }
+
+  // text[start, end) must already be a valid json number, returns false if it can't be represented
+  abstract boolean add(CharSequence text, int start, int end, boolean integral);
+
+  abstract A build();
+
+  static final class Ints extends PrimitiveArrayBuilder<int[]> {
+
+    private int[] values = new int[INITIAL_CAPACITY];
+
+    Ints() {
+      super("an int");
+    }
+
+    @Override
+    boolean add(final CharSequence text, final int start, final int end, final boolean integral) {
+      if (!integral) { return false; }
+
+      final int value;
+      try {
+        value = Integer.parseInt(text, start, end, 10);
+      } catch (final NumberFormatException exception) {
+        return false;
+      }
+
+      if (this.values.length == this.size) { this.values = Arrays.copyOf(this.values, this.size << 1); }
+      this.values[this.size++] = value;
+      return true;
+    }
+
+    @Override
+    int[] build() {
+      return this.values.length == this.size ? this.values : Arrays.copyOf(this.values, this.size);
+    }
+  }
+
+  static final class Longs extends PrimitiveArrayBuilder<long[]> {
+
+    private long[] values = new long[INITIAL_CAPACITY];
+
+    Longs() {
+      super("a long");
+    }
+
+    @Override
+    boolean add(final CharSequence text, final int start, final int end, final boolean integral) {
+      if (!integral) { return false; }
+
+      final long value;
+      try {
+        value = Long.parseLong(text, start, end, 10);
+      } catch (final NumberFormatException exception) {
+        return false;
+      }
+
+      if (this.values.length == this.size) { this.values = Arrays.copyOf(this.values, this.size << 1); }
+      this.values[this.size++] = value;
+      return true;
+    }
+
+    @Override
+    long[] build() {
+      return this.values.length == this.size ? this.values : Arrays.copyOf(this.values, this.size);
+    }
+  }
+
+  static final class Doubles extends PrimitiveArrayBuilder<double[]> {
+
+    private double[] values = new double[INITIAL_CAPACITY];
+
+    Doubles() {
+      super("a double");
+    }
+
+    @Override
+    boolean add(final CharSequence text, final int start, final int end, final boolean integral) {
+      if (this.values.length == this.size) { this.values = Arrays.copyOf(this.values, this.size << 1); }
+      this.values[this.size++] = ReaderSupport.parseDouble(text, start, end);
+      return true;
+    }
+
+    @Override
+    double[] build() {
+      return this.values.length == this.size ? this.values : Arrays.copyOf(this.values, this.size);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.JsonRaw;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Escapable;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Whitespace;
+
+// Raw fragments are kept without whitespace between tokens, and whether a policy escapes any of the characters in their
+// strings is only scanned for once per policy
+public final class RawJsonSupport {
+
+  // the verdicts of raw fragments are kept by the fragments themselves, two bits per policy telling whether it's known
+  // and whether the fragment is rewritten
+  public interface Cache {
+
+    // 0 if there's nothing cached
+    int cachedEscapeVerdicts();
+
+    void cacheEscapeVerdicts(int verdicts);
+  }
+
+  // the json without whitespace between tokens, or the same string if there's none. The json must be valid already
+  public static String compact(final String json) {
+    final int length = json.length();
+    StringBuilder compacted = null;
+    int run = 0;
+    boolean inString = false;
+    for (int i = 0; i < length; ++i) {
+      final char c = json.charAt(i);
+      if (inString) {
+        if (Escapable.BACKSLASH.codePoint == c) {
+          ++i;
+        } else if (Escapable.QUOTE.codePoint == c) {
+          inString = false;
+        }
+      } else if (Escapable.QUOTE.codePoint == c) {
+        inString = true;
+      } else if (Whitespace.isWhitespace(c)) {
+        if (null == compacted) { compacted = new StringBuilder(length); }
+        compacted.append(json, run, i);
+        run = i + 1;
+      }
+    }
+
+    if (null == compacted) { return json; }
+    return compacted.append(json, run, length).toString();
+  }
+
+  // whether writers with the given policy write the parsed value of the fragment instead of copying it. Racing threads
+  // may drop each other's verdicts, which are then just scanned for again
+  static boolean rewrites(final EscapePolicy escapePolicy, final JsonRaw jsonRaw) {
+    if (!(jsonRaw instanceof Cache)) { return escapePolicy.rewrites(jsonRaw.json()); }
+    final Cache cache = (Cache) jsonRaw;
+    final int known = 1 << 2 * escapePolicy.id;
+    final int rewritten = known << 1;
+    final int verdicts = cache.cachedEscapeVerdicts();
+    if (0 != (verdicts & known)) { return 0 != (verdicts & rewritten); }
+
+    final boolean rewrites = escapePolicy.rewrites(jsonRaw.json());
+    cache.cacheEscapeVerdicts(verdicts | known | (rewrites ? rewritten : 0));
+    return rewrites;
+  }
+
+  private RawJsonSupport() {
+  }
+}
@@ -0,0 +1,228 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.DataFactory;
+import io.github.emilyydev.emmyson.data.JsonNumber;
+import io.github.emilyydev.emmyson.exception.JsonParseException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+// Bits shared between the different reader implementations
+final class ReaderSupport {
+
+  // any integer with at most this many digits is guaranteed to fit in a long
+  private static final int MAX_LONG_DIGITS = 18;
+  // integers up to 10^15 and these powers of ten are all exact doubles, so a single multiplication or division of
+  // the two is correctly rounded
+  private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+  private static final double[] EXACT_POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  private static final int MAX_EXPONENT_DIGITS = 4;
+
+  // states of the json number grammar, -? (0 | [1-9] digits?) (. digits)? ([eE] [+-]? digits)?, fed one character at
+  // a time. Negative states are final: the number either ended before the character or can't contain it
+  static final int NUMBER_START = 0;
+  private static final int NUMBER_SIGN = 1;
+  private static final int NUMBER_ZERO = 2;
+  private static final int NUMBER_INTEGER = 3;
+  private static final int NUMBER_POINT = 4;
+  private static final int NUMBER_FRACTION = 5;
+  private static final int NUMBER_EXPONENT_MARK = 6;
+  private static final int NUMBER_EXPONENT_SIGN = 7;
+  private static final int NUMBER_EXPONENT = 8;
+  static final int NUMBER_END = -1;
+  static final int NUMBER_INVALID = -2;
+
+  static JsonParseException asJsonParseException(final IOException exception) {
+    if (exception instanceof JsonParseException) {
+      return (JsonParseException) exception;
+    } else {
+      return new JsonParseException(exception);
+    }
+  }
+
+  static JsonParseException reachedEndOfStream() {
+    return new JsonParseException("Reached end of stream");
+  }
+
+  static JsonParseException expectedTokenButGot(final int hint, final int read, final String at) {
+    return new JsonParseException(
+        "Expected token '" + Character.toString(hint) + "' at " + at +
+        ", got '" + Character.toString(read) + "' instead"
+    );
+  }
+
+  static boolean isWhitespace(final int c) {
+    return ' ' == c || '\n' == c || '\r' == c || '\t' == c;
+  }
+
+  static boolean isDigit(final int c) {
+    return '0' <= c && '9' >= c;
+  }
+
+  static int hexDigit(final int c) {
+    if ('0' <= c && '9' >= c) {
+      return c - '0';
+    } else if ('a' <= c && 'f' >= c) {
+      return c - 'a' + 10;
+    } else if ('A' <= c && 'F' >= c) {
+      return c - 'A' + 10;
+    } else {
+      return -1;
+    }
+  }
+
+  // the state after the given character, which is consumed unless the returned state is final
+  static int nextNumberState(final int state, final int c) {
+    switch (state) {
+      case NUMBER_START:
+        if ('-' == c) { return NUMBER_SIGN; }
+        if ('0' == c) { return NUMBER_ZERO; }
+        return isDigit(c) ? NUMBER_INTEGER : NUMBER_INVALID;
+      case NUMBER_SIGN:
+        if ('0' == c) { return NUMBER_ZERO; }
+        return isDigit(c) ? NUMBER_INTEGER : NUMBER_INVALID;
+      case NUMBER_ZERO:
+        // no more digits may follow a leading zero
+        if ('.' == c) { return NUMBER_POINT; }
+        return 'e' == c || 'E' == c ? NUMBER_EXPONENT_MARK : NUMBER_END;
+      case NUMBER_INTEGER:
+        if (isDigit(c)) { return NUMBER_INTEGER; }
+        if ('.' == c) { return NUMBER_POINT; }
+        return 'e' == c || 'E' == c ? NUMBER_EXPONENT_MARK : NUMBER_END;
+      case NUMBER_POINT:
+        return isDigit(c) ? NUMBER_FRACTION : NUMBER_INVALID;
+      case NUMBER_FRACTION:
+        if (isDigit(c)) { return NUMBER_FRACTION; }
+        return 'e' == c || 'E' == c ? NUMBER_EXPONENT_MARK : NUMBER_END;
+      case NUMBER_EXPONENT_MARK:
+        if ('+' == c || '-' == c) { return NUMBER_EXPONENT_SIGN; }
+        return isDigit(c) ? NUMBER_EXPONENT : NUMBER_INVALID;
+      case NUMBER_EXPONENT_SIGN:
+        return isDigit(c) ? NUMBER_EXPONENT : NUMBER_INVALID;
+      default:
+        return isDigit(c) ? NUMBER_EXPONENT : NUMBER_END;
+    }
+  }
+
+  // whether a number whose last character moved it to the given state is integral
+  static boolean isIntegral(final int state) {
+    return NUMBER_ZERO == state || NUMBER_INTEGER == state;
+  }
+
+  // the given character is -1 at the end of the input
+  static JsonParseException invalidNumber(final int c, final String at) {
+    if (-1 == c) { return reachedEndOfStream(); }
+    return new JsonParseException("Expected a digit at " + at + ", got '" + Character.toString(c) + "' instead");
+  }
+
+  // text must already be a valid json number
+  static JsonNumber number(
+      final DataFactory factory,
+      final CharSequence text,
+      final int start,
+      final int end,
+      final boolean integral
+  ) {
+    if (integral) {
+      final int digits = '-' == text.charAt(start) ? end - start - 1 : end - start;
+      if (MAX_LONG_DIGITS >= digits) {
+        return factory.number(Long.parseLong(text, start, end, 10));
+      } else {
+        return factory.number(new BigInteger(text.subSequence(start, end).toString()));
+      }
+    } else {
+      return factory.number(new BigDecimal(text.subSequence(start, end).toString(), MathContext.UNLIMITED));
+    }
+  }
+
+  // text must already be a valid json number
+  static double parseDouble(final CharSequence text, final int start, final int end) {
+    int i = start;
+    final boolean negative = '-' == text.charAt(i);
+    if (negative) { i++; }
+
+    long significand = 0;
+    int digits = 0, exponent = 0;
+    char c = 0;
+    for (; i < end && isDigit(c = text.charAt(i)); ++i) {
+      if (0 != digits || '0' != c) {
+        significand = significand * 10 + (c - '0');
+        digits++;
+      }
+    }
+
+    if ('.' == c && i < end) {
+      for (++i; i < end && isDigit(c = text.charAt(i)); ++i) {
+        if (0 != digits || '0' != c) {
+          significand = significand * 10 + (c - '0');
+          digits++;
+        }
+        exponent--;
+      }
+    }
+
+    if (MAX_EXACT_DOUBLE_DIGITS < digits) { return Double.parseDouble(text.subSequence(start, end).toString()); }
+
+    if (i < end) {
+      // exponent part
+      c = text.charAt(++i);
+      final boolean negativeExponent = '-' == c;
+      if ('-' == c || '+' == c) { i++; }
+      if (MAX_EXPONENT_DIGITS < end - i) { return Double.parseDouble(text.subSequence(start, end).toString()); }
+
+      int explicitExponent = 0;
+      for (; i < end; ++i) { explicitExponent = explicitExponent * 10 + (text.charAt(i) - '0'); }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+
+    final double value;
+    if (0 == significand) {
+      value = 0.0;
+    } else if (0 <= exponent && EXACT_POWERS_OF_TEN.length > exponent) {
+      value = significand * EXACT_POWERS_OF_TEN[exponent];
+    } else if (0 > exponent && EXACT_POWERS_OF_TEN.length > -exponent) {
+      value = significand / EXACT_POWERS_OF_TEN[-exponent];
+    } else {
+      return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+
+    return negative ? -value : value;
+  }
+
+  static String at(final CharSequence in, final int position) {
+    int line = 0, lineStart = 0;
+    for (int i = 0; i < position; ++i) {
+      if ('\n' == in.charAt(i)) {
+        line++;
+        lineStart = i + 1;
+      }
+    }
+    return line + ":" + (position - lineStart);
+  }
+
+  private ReaderSupport() {
+  }
+}
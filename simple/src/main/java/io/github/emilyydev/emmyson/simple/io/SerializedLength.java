@@ -0,0 +1,144 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.JsonArray;
+import io.github.emilyydev.emmyson.data.JsonBoolean;
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonNull;
+import io.github.emilyydev.emmyson.data.JsonNumber;
+import io.github.emilyydev.emmyson.data.JsonObject;
+import io.github.emilyydev.emmyson.data.JsonRaw;
+import io.github.emilyydev.emmyson.data.JsonString;
+import io.github.emilyydev.emmyson.io.WriterOptions;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Literal;
+
+import java.util.Iterator;
+import java.util.Map;
+
+// Counts the bytes the UTF-8 writers would write for some data, mirroring AbstractJsonWriter exactly. Not thread-safe
+public final class SerializedLength {
+
+  // the lengths of immutable containers are kept by the containers themselves, tagged with the policy they're for
+  public interface Cache {
+
+    // 0 if there's nothing cached
+    long cachedSerializedLength();
+
+    void cacheSerializedLength(long tagged);
+  }
+
+  private static final int TAG_SHIFT = 58;
+  private static final long LENGTH_MASK = (1L << TAG_SHIFT) - 1;
+
+  private final EscapePolicy escapePolicy;
+  private final long tag;
+  private final char[] longChars = new char[20];
+  private final DoubleToDecimal doubleToDecimal = new DoubleToDecimal();
+
+  public SerializedLength(final WriterOptions options) {
+    this.escapePolicy = EscapePolicy.of(options);
+    this.tag = (long) (this.escapePolicy.id + 1) << TAG_SHIFT;
+  }
+
+  public long of(final JsonData jsonData) {
+    if (jsonData instanceof JsonString) {
+      return of(((JsonString) jsonData).asString());
+    } else if (jsonData instanceof JsonNumber) {
+      return of((JsonNumber) jsonData);
+    } else if (jsonData instanceof JsonObject || jsonData instanceof JsonArray) {
+      if (!(jsonData instanceof Cache)) { return ofContainer(jsonData); }
+      final Cache cache = (Cache) jsonData;
+      final long cached = cache.cachedSerializedLength();
+      if (this.tag == (cached & ~LENGTH_MASK)) { return cached & LENGTH_MASK; }
+      final long length = ofContainer(jsonData);
+      cache.cacheSerializedLength(this.tag | length);
+      return length;
+    } else if (jsonData instanceof JsonBoolean) {
+      return ((JsonBoolean) jsonData).booleanValue() ? Literal.TRUE.length() : Literal.FALSE.length();
+    } else if (jsonData instanceof JsonNull) {
+      return Literal.NULL.length();
+    } else if (jsonData instanceof JsonRaw) {
+      final JsonRaw jsonRaw = (JsonRaw) jsonData;
+      return RawJsonSupport.rewrites(this.escapePolicy, jsonRaw) ? of(jsonRaw.value()) : jsonRaw.utf8().remaining();
+    }
+    return 0;
+  }
+
+  private long ofContainer(final JsonData jsonData) {
+    long length = 2;
+    int count = 0;
+    if (jsonData instanceof JsonObject) {
+      final Iterator<? extends Map.Entry<JsonString, ? extends JsonData>> iterator =
+          ((JsonObject) jsonData).asMap().entrySet().iterator();
+      while (iterator.hasNext()) {
+        final Map.Entry<JsonString, ? extends JsonData> entry = iterator.next();
+        // the name and the value are separated by a colon
+        length += of(entry.getKey().asString()) + 1 + of(entry.getValue());
+        count++;
+      }
+    } else {
+      final Iterator<JsonData> iterator = ((JsonArray) jsonData).stream().iterator();
+      while (iterator.hasNext()) {
+        length += of(iterator.next());
+        count++;
+      }
+    }
+
+    // and every element but the first is preceded by a comma
+    return 0 == count ? length : length + count - 1;
+  }
+
+  private long of(final JsonNumber jsonNumber) {
+    final Number number = jsonNumber.asNumber();
+    if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+      return this.longChars.length - AbstractJsonWriter.formatLong(number.longValue(), this.longChars);
+    } else if (number instanceof Double && Double.isFinite(number.doubleValue())) {
+      return this.doubleToDecimal.render(number.doubleValue());
+    }
+    return number.toString().length();
+  }
+
+  private long of(final String string) {
+    final String[] asciiEscapes = this.escapePolicy.asciiEscapes;
+    final boolean asciiOnly = this.escapePolicy.asciiOnly;
+    final int length = string.length();
+    // the quotes
+    long bytes = 2;
+    for (int i = 0; i < length; ++i) {
+      final char c = string.charAt(i);
+      if (0x80 > c) {
+        final String escape = asciiEscapes[c];
+        bytes += null == escape ? 1 : escape.length();
+      } else if (asciiOnly) {
+        bytes += 6;
+      } else if (0x800 > c) {
+        bytes += 2;
+      } else if (!Character.isSurrogate(c)) {
+        bytes += 3;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+        ++i;
+        bytes += 4;
+      } else {
+        bytes += 6;
+      }
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,199 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.io.JsonGenerator;
+import io.github.emilyydev.emmyson.io.WriterOptions;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Literal;
+import io.github.emilyydev.emmyson.simple.util.Stuff.Tokens;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+// Streams values through one of the writers, the nesting is tracked with a stack of one bit per level telling whether
+// it's an object or an array
+public final class StandardJsonGenerator implements JsonGenerator {
+
+  private final AbstractJsonWriter out;
+  private long[] objects = new long[1];
+  private int depth = 0;
+  // whether nothing has been written yet in the current level
+  private boolean first = true;
+  // whether the current level is an object and its last field name is waiting for its value
+  private boolean named = false;
+  // whether the top-level value was already written
+  private boolean done = false;
+
+  public StandardJsonGenerator(final OutputStream out, final WriterOptions options) {
+    this.out = new Utf8JsonWriter(out, options);
+  }
+
+  public StandardJsonGenerator(final Appendable out, final WriterOptions options) {
+    this.out = new CharArrayJsonWriter(out, options);
+  }
+
+  public StandardJsonGenerator(final WritableByteChannel out, final WriterOptions options) {
+    this.out = new ByteBufferJsonWriter(out, options);
+  }
+
+  private boolean inObject() {
+    return 0 != (this.objects[this.depth - 1 >> 6] & 1L << this.depth - 1);
+  }
+
+  private void push(final boolean object) {
+    if (this.objects.length << 6 == this.depth) {
+      this.objects = Arrays.copyOf(this.objects, this.objects.length << 1);
+    }
+    if (object) {
+      this.objects[this.depth >> 6] |= 1L << this.depth;
+    } else {
+      this.objects[this.depth >> 6] &= ~(1L << this.depth);
+    }
+    this.depth++;
+    this.first = true;
+  }
+
+  private void beforeValue() throws IOException {
+    if (0 == this.depth) {
+      if (this.done) { throw new IllegalStateException("A top-level value was already written"); }
+    } else if (inObject()) {
+      if (!this.named) { throw new IllegalStateException("Expected a name before a value in an object"); }
+      this.named = false;
+    } else {
+      if (!this.first) { this.out.put(Tokens.SEPARATOR); }
+      this.first = false;
+    }
+  }
+
+  private JsonGenerator afterValue() {
+    if (0 == this.depth) { this.done = true; }
+    return this;
+  }
+
+  private JsonGenerator end(final boolean object, final int token) throws IOException {
+    if (0 == this.depth || object != inObject()) {
+      throw new IllegalStateException("Not in " + (object ? "an object" : "an array"));
+    }
+    if (this.named) { throw new IllegalStateException("Expected a value after a name in an object"); }
+    this.out.put(token);
+    this.depth--;
+    this.first = false;
+    return afterValue();
+  }
+
+  @Override
+  public JsonGenerator beginArray() throws IOException {
+    beforeValue();
+    this.out.put(Tokens.BEGIN_ARRAY);
+    push(false);
+    return this;
+  }
+
+  @Override
+  public JsonGenerator endArray() throws IOException {
+    return end(false, Tokens.END_ARRAY);
+  }
+
+  @Override
+  public JsonGenerator beginObject() throws IOException {
+    beforeValue();
+    this.out.put(Tokens.BEGIN_OBJECT);
+    push(true);
+    return this;
+  }
+
+  @Override
+  public JsonGenerator endObject() throws IOException {
+    return end(true, Tokens.END_OBJECT);
+  }
+
+  @Override
+  public JsonGenerator name(final CharSequence name) throws IOException {
+    requireNonNull(name, "name");
+    if (0 == this.depth || !inObject()) { throw new IllegalStateException("Not in an object"); }
+    if (this.named) { throw new IllegalStateException("Expected a value after a name in an object"); }
+    if (!this.first) { this.out.put(Tokens.SEPARATOR); }
+    this.first = false;
+    this.out.writeString(name.toString());
+    this.out.put(Tokens.OBJECT_MAPPER);
+    this.named = true;
+    return this;
+  }
+
+  @Override
+  public JsonGenerator nullValue() throws IOException {
+    beforeValue();
+    this.out.writeRaw(Literal.NULL);
+    return afterValue();
+  }
+
+  @Override
+  public JsonGenerator value(final boolean b) throws IOException {
+    beforeValue();
+    this.out.writeRaw(b ? Literal.TRUE : Literal.FALSE);
+    return afterValue();
+  }
+
+  @Override
+  public JsonGenerator value(final long l) throws IOException {
+    beforeValue();
+    this.out.writeLong(l);
+    return afterValue();
+  }
+
+  @Override
+  public JsonGenerator value(final double d) throws IOException {
+    if (!Double.isFinite(d)) { throw new IllegalArgumentException("Not a finite number: " + d); }
+    beforeValue();
+    this.out.writeDouble(d);
+    return afterValue();
+  }
+
+  @Override
+  public JsonGenerator value(final @Nullable CharSequence str) throws IOException {
+    if (null == str) { return nullValue(); }
+    beforeValue();
+    this.out.writeString(str.toString());
+    return afterValue();
+  }
+
+  @Override
+  public JsonGenerator value(final @Nullable JsonData jsonData) throws IOException {
+    if (null == jsonData) { return nullValue(); }
+    beforeValue();
+    this.out.write(jsonData);
+    return afterValue();
+  }
+
+  @Override
+  public void flush() throws IOException {
+    this.out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.out.close();
+  }
+}
@@ -0,0 +1,127 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.io.JsonLinesWriter;
+import io.github.emilyydev.emmyson.io.WriterOptions;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Every line goes through the same encoder and into the same buffer, which is written out whenever it fills up. The
+// first line buffered after a flush schedules the next one, so no line waits longer than the delay
+public final class StandardJsonLinesWriter implements JsonLinesWriter {
+
+  // small enough that any line fits in the buffer over a few writes
+  private static final int MIN_GROUP_BYTES = 64;
+
+  private final Utf8JsonWriter out;
+  private final long groupDelayNanos;
+  private final ScheduledExecutorService executor;
+  private @Nullable ScheduledFuture<?> scheduledFlush = null;
+  private @Nullable IOException failure = null;
+
+  public StandardJsonLinesWriter(
+      final OutputStream out,
+      final WriterOptions options,
+      final int groupBytes,
+      final Duration groupDelay
+  ) {
+    this(out, options, groupBytes, groupDelay, Flusher.EXECUTOR);
+  }
+
+  public StandardJsonLinesWriter(
+      final OutputStream out,
+      final WriterOptions options,
+      final int groupBytes,
+      final Duration groupDelay,
+      final ScheduledExecutorService executor
+  ) {
+    this.out = new Utf8JsonWriter(out, options, Math.max(MIN_GROUP_BYTES, groupBytes));
+    this.groupDelayNanos = groupDelay.toNanos();
+    this.executor = executor;
+  }
+
+  @Override
+  public synchronized void append(final JsonData jsonData) throws IOException {
+    rethrowFailure();
+    this.out.write(jsonData);
+    this.out.put('\n');
+    if (0 < this.groupDelayNanos && null == this.scheduledFlush && this.out.isBuffering()) {
+      this.scheduledFlush = this.executor.schedule(this::flushScheduled, this.groupDelayNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private synchronized void flushScheduled() {
+    this.scheduledFlush = null;
+    if (null != this.failure) { return; }
+    try {
+      this.out.flush();
+    } catch (final IOException exception) {
+      this.failure = exception;
+    }
+  }
+
+  @Override
+  public synchronized void flush() throws IOException {
+    rethrowFailure();
+    cancelScheduledFlush();
+    this.out.flush();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    cancelScheduledFlush();
+    this.out.close();
+    rethrowFailure();
+  }
+
+  private void cancelScheduledFlush() {
+    if (null != this.scheduledFlush) {
+      this.scheduledFlush.cancel(false);
+      this.scheduledFlush = null;
+    }
+  }
+
+  private void rethrowFailure() throws IOException {
+    final IOException failure = this.failure;
+    if (null != failure) { throw new IOException(failure.getMessage(), failure); }
+  }
+
+  // shared by every writer not given an executor, only started once it's first needed
+  private static final class Flusher {
+
+    static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(1, task -> {
+      final Thread thread = new Thread(task, "EmmySON lines flusher");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    static {
+      EXECUTOR.setRemoveOnCancelPolicy(true);
+    }
+  }
+}
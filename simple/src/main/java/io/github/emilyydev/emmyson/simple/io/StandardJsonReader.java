@@ -37,35 +37,15 @@ import io.github.emilyydev.emmyson.simple.util.Stuff.Whitespace;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.math.MathContext;
 import java.nio.CharBuffer;
 import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Deque;
-import java.util.LinkedHashMap;
 
-public final class StandardJsonReader implements JsonReader {
-
-  private static JsonParseException asJsonParseException(final IOException exception) {
-    if (exception instanceof JsonParseException) {
-      return (JsonParseException) exception;
-    } else {
-      return new JsonParseException(exception);
-    }
-  }
-
-  private static JsonParseException reachedEndOfStream() {
-    return new JsonParseException("Reached end of stream");
-  }
+import static io.github.emilyydev.emmyson.simple.io.ReaderSupport.asJsonParseException;
+import static io.github.emilyydev.emmyson.simple.io.ReaderSupport.expectedTokenButGot;
+import static io.github.emilyydev.emmyson.simple.io.ReaderSupport.reachedEndOfStream;
 
-  private static JsonParseException expectedTokenButGot(final int hint, final int read, final String at) {
-    return new JsonParseException(
-        "Expected token '" + Character.toString(hint) + "' at " + at +
-        ", got '" + Character.toString(read) + "' instead"
-    );
-  }
+public final class StandardJsonReader implements JsonReader {
 
   private static BufferedReader asBufferedReader(final Readable in) {
     if (in instanceof BufferedReader) {
@@ -80,6 +60,8 @@ public final class StandardJsonReader implements JsonReader {
   private final DataFactory factory;
   private final BufferedReader in;
   private final Deque<Token> expectedTokenToBeFoundForHasNextElementToReturnFalseDeque = new ArrayDeque<>();
+  // no separator comes before the first element of an array or object
+  private boolean expectingFirstElement = false;
   private long line = 0, column = 0, lineMark = 0, columnMark = 0;
 
   public StandardJsonReader(final Readable in, final DataFactory factory) {
@@ -152,29 +134,8 @@ public final class StandardJsonReader implements JsonReader {
   @Override
   public JsonNumber readNumber() throws IOException {
     final StringBuilder buffer = new StringBuilder();
-    boolean isDecimal = false;
-
-    while (true) {
-      mark(1);
-      final int read = readNext();
-
-      if ('0' <= read && '9' >= read) {
-        buffer.appendCodePoint(read);
-        continue;
-      }
-
-      if ('.' == read && !isDecimal) {
-        isDecimal = true;
-        buffer.appendCodePoint(read);
-        continue;
-      }
-
-      reset();
-      break;
-    }
-
-    final String result = buffer.toString();
-    return this.factory.number(isDecimal ? new BigDecimal(result, MathContext.UNLIMITED) : new BigInteger(result));
+    final boolean integral = scanNumber(buffer);
+    return ReaderSupport.number(this.factory, buffer, 0, buffer.length(), integral);
   }
 
   @Override
@@ -215,18 +176,22 @@ public final class StandardJsonReader implements JsonReader {
 
   private boolean hasNextElement() throws IOException {
     consumeWhitespaces(true);
+    final boolean first = this.expectingFirstElement;
+    this.expectingFirstElement = false;
     final Token nextToken = Token.determineNextToken(this.in);
+    final Token end = this.expectedTokenToBeFoundForHasNextElementToReturnFalseDeque.peek();
     if (Token.UNKNOWN == nextToken) {
       throw reachedEndOfStream();
-    } else if (this.expectedTokenToBeFoundForHasNextElementToReturnFalseDeque.peek() == nextToken) {
+    } else if (end == nextToken) {
       return false;
+    } else if (first) {
+      return true;
     } else if (Token.SEPARATOR == nextToken) {
       readNext();
       consumeWhitespaces(true);
       return true;
     } else {
-      // TODO what to do when the next token isn't any of the above
-      return true;
+      throw expectedTokenButGot(end.hint, readNext(), at());
     }
   }
 
@@ -239,6 +204,7 @@ public final class StandardJsonReader implements JsonReader {
       throw expectedTokenButGot(hint, read, at());
     } else {
       this.expectedTokenToBeFoundForHasNextElementToReturnFalseDeque.addFirst(Token.END_ARRAY);
+      this.expectingFirstElement = true;
     }
   }
 
@@ -255,11 +221,66 @@ public final class StandardJsonReader implements JsonReader {
   @Override
   public JsonArray readArray() throws IOException {
     beginArray();
-    final var list = new ArrayList<JsonData>();
-    while (hasNextElement()) { list.add(read()); }
+    final JsonArray.Builder builder = this.factory.arrayBuilder();
+    while (hasNextElement()) { builder.add(read()); }
+
+    endArray();
+    return builder.build();
+  }
+
+  @Override
+  public int[] readIntArray() throws IOException {
+    return readPrimitiveArray(new PrimitiveArrayBuilder.Ints());
+  }
+
+  @Override
+  public long[] readLongArray() throws IOException {
+    return readPrimitiveArray(new PrimitiveArrayBuilder.Longs());
+  }
+
+  @Override
+  public double[] readDoubleArray() throws IOException {
+    return readPrimitiveArray(new PrimitiveArrayBuilder.Doubles());
+  }
+
+  private <A> A readPrimitiveArray(final PrimitiveArrayBuilder<A> builder) throws IOException {
+    consumeWhitespaces(true);
+    beginArray();
+    consumeWhitespaces(true);
+    if (Token.END_ARRAY.hint != peekNext()) {
+      // reused for every element
+      final StringBuilder buffer = new StringBuilder();
+      while (true) {
+        consumeWhitespaces(true);
+        buffer.setLength(0);
+        final boolean integral = scanNumber(buffer);
+        if (!builder.add(buffer, 0, buffer.length(), integral)) {
+          throw new JsonParseException("Expected a number representable as " + builder.type + " at " + at());
+        }
+
+        // anything but a separator must be the end of the array
+        consumeWhitespaces(true);
+        if (Token.SEPARATOR.hint != peekNext()) { break; }
+        readNext();
+      }
+    }
 
     endArray();
-    return this.factory.arrayOf(list);
+    consumeWhitespaces(false);
+    return builder.build();
+  }
+
+  // scans a whole json number into the buffer, returns whether it is integral
+  private boolean scanNumber(final StringBuilder buffer) throws IOException {
+    int state = ReaderSupport.NUMBER_START;
+    while (true) {
+      final int c = peekNext();
+      final int next = ReaderSupport.nextNumberState(state, c);
+      if (ReaderSupport.NUMBER_END == next) { return ReaderSupport.isIntegral(state); }
+      if (ReaderSupport.NUMBER_INVALID == next) { throw ReaderSupport.invalidNumber(c, at()); }
+      buffer.append((char) readNext());
+      state = next;
+    }
   }
 
   private void beginObject() throws IOException {
@@ -271,6 +292,7 @@ public final class StandardJsonReader implements JsonReader {
       throw expectedTokenButGot(hint, read, at());
     } else {
       this.expectedTokenToBeFoundForHasNextElementToReturnFalseDeque.addFirst(Token.END_OBJECT);
+      this.expectingFirstElement = true;
     }
   }
 
@@ -295,11 +317,11 @@ public final class StandardJsonReader implements JsonReader {
   @Override
   public JsonObject readObject() throws IOException {
     beginObject();
-    final var map = new LinkedHashMap<String, JsonData>();
-    while (hasNextElement()) { map.put(nextName(), read()); }
+    final JsonObject.Builder builder = this.factory.objectBuilder();
+    while (hasNextElement()) { builder.put(nextName(), read()); }
 
     endObject();
-    return this.factory.objectOf(map);
+    return builder.build();
   }
 
   private String at() {
@@ -319,6 +341,13 @@ public final class StandardJsonReader implements JsonReader {
     return read;
   }
 
+  private int peekNext() throws IOException {
+    mark(1);
+    final int read = readNext();
+    reset();
+    return read;
+  }
+
   private void mark(final int mark) throws IOException {
     this.in.mark(mark);
     this.lineMark = this.line;
@@ -0,0 +1,139 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.DataFactory;
+import io.github.emilyydev.emmyson.data.JsonArray;
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonObject;
+import io.github.emilyydev.emmyson.data.JsonString;
+import io.github.emilyydev.emmyson.exception.JsonParseException;
+import io.github.emilyydev.emmyson.io.JsonSubscriber;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import static java.util.Objects.requireNonNull;
+
+// Elements of a top level array or object are parsed as they arrive, the rest is assembled once the input ends
+public final class StandardJsonSubscriber extends ChunkedJsonParser implements JsonSubscriber {
+
+  private final DataFactory factory;
+  private final CompletableFuture<JsonData> result = new CompletableFuture<>();
+  private JsonArray.@Nullable Builder elements = null;
+  private JsonObject.@Nullable Builder members = null;
+  private @Nullable JsonData value = null;
+  private volatile Flow.@Nullable Subscription subscription = null;
+
+  public StandardJsonSubscriber(final DataFactory factory) {
+    super(factory);
+    this.factory = factory;
+    this.result.whenComplete((value, throwable) -> {
+      final Flow.Subscription subscription = this.subscription;
+      if (null != throwable && null != subscription) { subscription.cancel(); }
+    });
+  }
+
+  @Override
+  public CompletableFuture<JsonData> result() {
+    return this.result;
+  }
+
+  @Override
+  public void onSubscribe(final Flow.Subscription subscription) {
+    requireNonNull(subscription, "subscription");
+    if (null != this.subscription) {
+      subscription.cancel();
+      return;
+    }
+
+    this.subscription = subscription;
+    if (this.result.isDone()) {
+      subscription.cancel();
+    } else {
+      subscription.request(1);
+    }
+  }
+
+  @Override
+  public void onNext(final ByteBuffer item) {
+    requireNonNull(item, "item");
+    if (this.result.isDone()) { return; }
+    try {
+      feed(item);
+    } catch (final JsonParseException | RuntimeException exception) {
+      this.result.completeExceptionally(exception);
+      return;
+    }
+
+    requireNonNull(this.subscription).request(1);
+  }
+
+  @Override
+  public void onError(final Throwable throwable) {
+    requireNonNull(throwable, "throwable");
+    this.result.completeExceptionally(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    if (this.result.isDone()) { return; }
+    try {
+      finish();
+    } catch (final JsonParseException | RuntimeException exception) {
+      this.result.completeExceptionally(exception);
+      return;
+    }
+
+    if (null != this.elements) {
+      this.result.complete(this.elements.build());
+    } else if (null != this.members) {
+      this.result.complete(this.members.build());
+    } else {
+      this.result.complete(requireNonNull(this.value));
+    }
+  }
+
+  @Override
+  void beginArray() {
+    this.elements = this.factory.arrayBuilder();
+  }
+
+  @Override
+  void beginObject() {
+    this.members = this.factory.objectBuilder();
+  }
+
+  @Override
+  void element(final JsonData element) {
+    requireNonNull(this.elements).add(element);
+  }
+
+  @Override
+  void member(final JsonString name, final JsonData value) {
+    requireNonNull(this.members).put(name, value);
+  }
+
+  @Override
+  void value(final JsonData value) {
+    this.value = value;
+  }
+}
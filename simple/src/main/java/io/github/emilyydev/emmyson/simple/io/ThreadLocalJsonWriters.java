@@ -0,0 +1,78 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.io.WriterOptions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Every thread keeps a writer into memory of each kind around and reuses it for as long as the options don't change
+// and it doesn't grow too large. A writer is taken out while it's in use so reentrant calls don't share it
+public final class ThreadLocalJsonWriters {
+
+  // writers that grew larger than this aren't kept
+  private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+  private static final ThreadLocal<CharArrayJsonWriter> CHAR_WRITERS = new ThreadLocal<>();
+  private static final ThreadLocal<Utf8JsonWriter> BYTE_WRITERS = new ThreadLocal<>();
+
+  private ThreadLocalJsonWriters() {
+  }
+
+  public static String writeToString(final JsonData jsonData, final WriterOptions options) {
+    CharArrayJsonWriter writer = CHAR_WRITERS.get();
+    if (null == writer || !writer.options.equals(options)) {
+      writer = new CharArrayJsonWriter(new CharArrayWriter(), options);
+    } else {
+      CHAR_WRITERS.set(null);
+    }
+
+    try {
+      writer.write(jsonData);
+      final String string = writer.takeString();
+      if (MAX_RETAINED_SIZE >= string.length()) { CHAR_WRITERS.set(writer); }
+      return string;
+    } catch (final IOException exception) {
+      // nothing in memory throws
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  public static byte[] writeToBytes(final JsonData jsonData, final WriterOptions options) {
+    Utf8JsonWriter writer = BYTE_WRITERS.get();
+    if (null == writer || !writer.options.equals(options)) {
+      writer = new Utf8JsonWriter(new ByteArrayOutputStream(), options);
+    } else {
+      BYTE_WRITERS.set(null);
+    }
+
+    try {
+      writer.write(jsonData);
+      final byte[] bytes = writer.takeBytes();
+      if (MAX_RETAINED_SIZE >= bytes.length) { BYTE_WRITERS.set(writer); }
+      return bytes;
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+}
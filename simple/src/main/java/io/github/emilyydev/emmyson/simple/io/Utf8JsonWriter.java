@@ -0,0 +1,183 @@
+//
+// Simple implementation for the EmmySON API
+// Copyright (C) 2022  emilyy-dev
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+//
+
+package io.github.emilyydev.emmyson.simple.io;
+
+import io.github.emilyydev.emmyson.data.JsonRaw;
+import io.github.emilyydev.emmyson.io.WriterOptions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Encodes straight into an owned byte array, copying ascii as-is and encoding anything else to UTF-8 inline, and hands
+// it over to the underlying stream in bulk every time it fills up
+public final class Utf8JsonWriter extends AbstractJsonWriter {
+
+  private static final int BUFFER_SIZE = 16 * 1024;
+  // the longest UTF-8 sequence
+  private static final int MAX_BYTES_PER_CODE_POINT = 4;
+
+  final OutputStream out;
+  private final byte[] buffer;
+  private int count = 0;
+
+  public Utf8JsonWriter(final OutputStream out) {
+    this(out, WriterOptions.defaults());
+  }
+
+  public Utf8JsonWriter(final OutputStream out, final WriterOptions options) {
+    this(out, options, BUFFER_SIZE);
+  }
+
+  // the buffer has to fit at least any rendered number
+  Utf8JsonWriter(final OutputStream out, final WriterOptions options, final int bufferSize) {
+    super(options);
+    this.out = out;
+    this.buffer = new byte[bufferSize];
+  }
+
+  @Override
+  void put(final int c) throws IOException {
+    if (this.buffer.length == this.count) { drain(); }
+    this.buffer[this.count++] = (byte) c;
+  }
+
+  @Override
+  void writeRaw(final String string, final int start, final int end) throws IOException {
+    final byte[] buffer = this.buffer;
+    int i = start;
+    while (i < end) {
+      // ascii run, as much as fits
+      int count = this.count;
+      final int limit = Math.min(end, i + buffer.length - count);
+      char c;
+      while (i < limit && 0x80 > (c = string.charAt(i))) {
+        buffer[count++] = (byte) c;
+        i++;
+      }
+
+      this.count = count;
+      if (i == end) { break; }
+      if (buffer.length - count < MAX_BYTES_PER_CODE_POINT) {
+        drain();
+      } else {
+        i = encode(string, i, end);
+      }
+    }
+  }
+
+  // encodes the non-ascii character at the given index, returns the index of the next character
+  private int encode(final String string, final int index, final int end) {
+    final byte[] buffer = this.buffer;
+    final char c = string.charAt(index);
+    if (0x800 > c) {
+      buffer[this.count++] = (byte) (0xc0 | c >> 6);
+      buffer[this.count++] = (byte) (0x80 | c & 0x3f);
+    } else if (!Character.isSurrogate(c)) {
+      buffer[this.count++] = (byte) (0xe0 | c >> 12);
+      buffer[this.count++] = (byte) (0x80 | c >> 6 & 0x3f);
+      buffer[this.count++] = (byte) (0x80 | c & 0x3f);
+    } else if (Character.isHighSurrogate(c) && index + 1 < end && Character.isLowSurrogate(string.charAt(index + 1))) {
+      final int codePoint = Character.toCodePoint(c, string.charAt(index + 1));
+      buffer[this.count++] = (byte) (0xf0 | codePoint >> 18);
+      buffer[this.count++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+      buffer[this.count++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+      buffer[this.count++] = (byte) (0x80 | codePoint & 0x3f);
+      return index + 2;
+    } else {
+      // lone surrogate, replaced just like the standard UTF-8 encoder does
+      buffer[this.count++] = '?';
+    }
+
+    return index + 1;
+  }
+
+  @Override
+  void writeAscii(final char[] chars, final int start, final int end) throws IOException {
+    if (this.buffer.length - this.count < end - start) { drain(); }
+    final byte[] buffer = this.buffer;
+    int count = this.count;
+    for (int i = start; i < end; ++i) { buffer[count++] = (byte) chars[i]; }
+    this.count = count;
+  }
+
+  @Override
+  void writeVerbatim(final JsonRaw jsonRaw) throws IOException {
+    final ByteBuffer utf8 = jsonRaw.utf8();
+    while (utf8.hasRemaining()) {
+      if (this.buffer.length == this.count) { drain(); }
+      final int length = Math.min(utf8.remaining(), this.buffer.length - this.count);
+      utf8.get(this.buffer, this.count, length);
+      this.count += length;
+    }
+  }
+
+  @Override
+  AbstractJsonWriter chunkWriter() {
+    return new Utf8JsonWriter(new ByteArrayOutputStream(), this.options);
+  }
+
+  @Override
+  void writeChunk(final AbstractJsonWriter chunk) throws IOException {
+    drain();
+    ((ByteArrayOutputStream) ((Utf8JsonWriter) chunk).out).writeTo(this.out);
+  }
+
+  // everything written so far into a ByteArrayOutputStream, which is left empty along with this writer
+  byte[] takeBytes() throws IOException {
+    final ByteArrayOutputStream out = (ByteArrayOutputStream) this.out;
+    final byte[] bytes;
+    if (0 == out.size()) {
+      bytes = Arrays.copyOf(this.buffer, this.count);
+    } else {
+      drain();
+      bytes = out.toByteArray();
+    }
+
+    this.count = 0;
+    out.reset();
+    return bytes;
+  }
+
+  boolean isBuffering() {
+    return 0 != this.count;
+  }
+
+  private void drain() throws IOException {
+    this.out.write(this.buffer, 0, this.count);
+    this.count = 0;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    drain();
+    this.out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      drain();
+    } finally {
+      this.out.close();
+    }
+  }
+}
@@ -19,6 +19,7 @@
 package io.github.emilyydev.emmyson.simple.util;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
 import java.util.Arrays;
@@ -31,11 +32,11 @@ import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.collectingAndThen;
-import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toList;
 
 public interface LinkedHashMap<K, V> extends Iterable<Map.Entry<K, V>>, Serializable {
 
@@ -45,41 +46,51 @@ public interface LinkedHashMap<K, V> extends Iterable<Map.Entry<K, V>>, Serializ
   }
 
   static <K, V> LinkedHashMap<K, V> single(final K key, final V value) {
-    return new LinkedHashMap$.SingleNode<>(key, value);
+    return new LinkedHashMap$.FieldNode<>(new Object[] { requireNonNull(key, "key") }, new Object[] { value }, 1);
   }
 
   static <K, V> LinkedHashMap<K, V> single(final Map.Entry<? extends K, ? extends V> entry) {
-    return new LinkedHashMap$.SingleNode<>(entry);
+    return single(entry.getKey(), entry.getValue());
   }
 
   static <K, V> LinkedHashMap<K, V> ofAll(final Map<? extends K, ? extends V> elements) {
-    if (elements.isEmpty()) {
-      return empty();
-    } else if (elements.size() == 1) {
-      return single(elements.entrySet().iterator().next());
-    } else {
-      return new LinkedHashMap$.SingleNode<>(elements);
-    }
+    return ofAll(elements.entrySet());
   }
 
   static <K, V> LinkedHashMap<K, V> ofAll(final Collection<? extends Map.Entry<? extends K, ? extends V>> elements) {
-    if (elements.isEmpty()) {
-      return empty();
-    } else if (elements.size() == 1) {
-      return single(elements.iterator().next());
-    } else {
-      return new LinkedHashMap$.SingleNode<>(elements);
-    }
+    final Object[] entries = elements.toArray();
+    final Object[] keys = new Object[entries.length];
+    final Object[] values = new Object[entries.length];
+    for (int i = 0; i < entries.length; ++i) {
+      keys[i] = ((Map.Entry<?, ?>) entries[i]).getKey();
+      values[i] = ((Map.Entry<?, ?>) entries[i]).getValue();
+    }
+    return LinkedHashMap$.distinct(keys, values, keys.length, false);
   }
 
   @SafeVarargs
   static <K, V> LinkedHashMap<K, V> ofAll(final Map.Entry<? extends K, ? extends V>... elements) {
-    if (elements.length == 0) {
+    return ofAll(Arrays.asList(elements));
+  }
+
+  // keys and values by position, later occurrences of a key are dropped. The arrays are taken as-is and must not be
+  // modified afterwards
+  static <K, V> LinkedHashMap<K, V> ofAll(final K[] keys, final V[] values) {
+    return LinkedHashMap$.distinct(keys, values, keys.length, false);
+  }
+
+  // the first size keys and values by position, as if put one after another: a key occurring again keeps its first
+  // position but takes the later value. The arrays are taken as-is and must not be modified afterwards
+  static <K, V> LinkedHashMap<K, V> ofPuts(final K[] keys, final V[] values, final int size) {
+    return LinkedHashMap$.distinct(keys, values, size, true);
+  }
+
+  // keys must be distinct, the arrays are taken as-is and must not be modified afterwards
+  static <K, V> LinkedHashMap<K, V> ofSlots(final K[] keys, final V[] values) {
+    if (keys.length == 0) {
       return empty();
-    } else if (elements.length == 1) {
-      return single(elements[0]);
     } else {
-      return new LinkedHashMap$.SingleNode<>(elements);
+      return new LinkedHashMap$.SlotNode<>(keys, values);
     }
   }
 
@@ -120,10 +131,54 @@ public interface LinkedHashMap<K, V> extends Iterable<Map.Entry<K, V>>, Serializ
 
 final class LinkedHashMap$ {
 
+  // up to this many entries are held in fields, then in parallel arrays up to the slot limit, then in a hash trie
+  static final int MAX_FIELDS = 4;
+  static final int MAX_SLOTS = 8;
+
   private LinkedHashMap$() {
     throw new UnsupportedOperationException("you stink");
   }
 
+  // later occurrences of a key either replace the value of the first one or are dropped
+  static <K, V> LinkedHashMap<K, V> distinct(final Object[] keys, final Object[] values, final int length,
+                                             final boolean replace) {
+    if (MAX_SLOTS < length) { return ChampNode.ofAll(keys, values, length, replace); }
+    int size = 0;
+    for (int i = 0; i < length; ++i) {
+      final Object key = requireNonNull(keys[i], "key");
+      requireNonNull(values[i], "value");
+      final int index = indexOf(keys, size, key);
+      if (0 > index) {
+        keys[size] = key;
+        values[size++] = values[i];
+      } else if (replace) {
+        values[index] = values[i];
+      }
+    }
+    return inline(keys, values, size);
+  }
+
+  // the first size keys must be distinct, there must be no more than the slot limit
+  @SuppressWarnings("unchecked")
+  static <K, V> LinkedHashMap<K, V> inline(final Object[] keys, final Object[] values, final int size) {
+    if (0 == size) {
+      return LinkedHashMap.empty();
+    } else if (MAX_FIELDS >= size) {
+      return new FieldNode<>(keys, values, size);
+    } else if (keys.length == size && values.length == size) {
+      return new SlotNode<>((K[]) keys, (V[]) values);
+    } else {
+      return new SlotNode<>((K[]) Arrays.copyOf(keys, size), (V[]) Arrays.copyOf(values, size));
+    }
+  }
+
+  private static int indexOf(final Object[] keys, final int size, final Object key) {
+    for (int i = 0; i < size; ++i) {
+      if (keys[i] == key || keys[i].equals(key)) { return i; }
+    }
+    return -1;
+  }
+
   static final class EmptyNode<K, V> implements LinkedHashMap<K, V> {
 
     static final LinkedHashMap<?, ?> INSTANCE = new EmptyNode<>();
@@ -216,19 +271,47 @@ final class LinkedHashMap$ {
     }
 
     @Override
-    public final LinkedHashMap<K, V> withMapping(final K key, final V value) {
-      return get(key).map(existingValue -> {
-        if (value.equals(existingValue)) { return this; }
-        return new ReplacingNode<>(this, key, value);
-      }).orElseGet(() -> new LinkedNode<>(this, key, value));
+    public LinkedHashMap<K, V> withMapping(final K key, final V value) {
+      requireNonNull(value, "value");
+      final Optional<V> existing = get(key);
+      if (existing.isPresent() && value.equals(existing.get())) { return this; }
+      final int size = existing.isPresent() ? size() : size() + 1;
+      if (MAX_SLOTS < size) { return champ().withMapping(key, value); }
+
+      final Object[] keys = new Object[size];
+      final Object[] values = new Object[size];
+      int index = 0;
+      for (final Map.Entry<K, V> entry : this) {
+        keys[index] = entry.getKey();
+        values[index++] = existing.isPresent() && key.equals(entry.getKey()) ? value : entry.getValue();
+      }
+      if (index < size) {
+        keys[index] = key;
+        values[index] = value;
+      }
+      return inline(keys, values, size);
     }
 
     @Override
-    public final LinkedHashMap<K, V> remove(final K key) {
-      return get(key).map($ -> {
-        if (size() == 1) { return LinkedHashMap.<K, V>empty(); }
-        return new RemovingNode<>(this, key);
-      }).orElse(this);
+    public LinkedHashMap<K, V> remove(final K key) {
+      if (get(key).isEmpty()) { return this; }
+      final int size = size() - 1;
+      if (MAX_SLOTS < size) { return champ().remove(key); }
+
+      final Object[] keys = new Object[size];
+      final Object[] values = new Object[size];
+      int index = 0;
+      for (final Map.Entry<K, V> entry : this) {
+        if (key.equals(entry.getKey())) { continue; }
+        keys[index] = entry.getKey();
+        values[index++] = entry.getValue();
+      }
+      return inline(keys, values, size);
+    }
+
+    // small nodes are rebuilt on modification, past the slot limit their entries move into a hash trie
+    ChampNode<K, V> champ() {
+      return ChampNode.ofAll(this);
     }
 
     @Override
@@ -259,178 +342,412 @@ final class LinkedHashMap$ {
     }
   }
 
-  // Not "single-element node", but rather not linked
-  static final class SingleNode<K, V> extends AbstractNode<K, V> {
+  // Up to four entries held inline, saving the arrays of a slot node
+  static final class FieldNode<K, V> extends AbstractNode<K, V> {
 
-    private static final long serialVersionUID = -6854208052858189573L;
+    private static final long serialVersionUID = 8851849853047592435L;
 
-    private final Map<K, V> elements;
-
-    SingleNode(final K key, final V value) {
-      this.elements = Map.of(key, value);
-    }
+    private final K k0, k1, k2, k3;
+    private final V v0, v1, v2, v3;
+    private final int size;
 
-    SingleNode(final Map.Entry<? extends K, ? extends V> entry) {
-      this.elements = Map.of(entry.getKey(), entry.getValue());
-    }
-
-    @SafeVarargs
-    SingleNode(final Map.Entry<? extends K, ? extends V>... entries) {
-      this(Arrays.asList(entries));
-    }
-
-    SingleNode(final Map<? extends K, ? extends V> elements) {
-      this(elements.entrySet());
-    }
-
-    SingleNode(final Collection<? extends Map.Entry<? extends K, ? extends V>> elements) {
-      this.elements = elements.stream()
-          .collect(collectingAndThen(
-              toMap(Map.Entry::getKey, Map.Entry::getValue, (lhs, rhs) -> lhs, java.util.LinkedHashMap::new),
-              Collections::unmodifiableMap
-          ));
+    @SuppressWarnings("unchecked")
+    FieldNode(final Object[] keys, final Object[] values, final int size) {
+      this.k0 = (K) keys[0];
+      this.v0 = (V) requireNonNull(values[0], "value");
+      this.k1 = 1 < size ? (K) keys[1] : null;
+      this.v1 = 1 < size ? (V) values[1] : null;
+      this.k2 = 2 < size ? (K) keys[2] : null;
+      this.v2 = 2 < size ? (V) values[2] : null;
+      this.k3 = 3 < size ? (K) keys[3] : null;
+      this.v3 = 3 < size ? (V) values[3] : null;
+      this.size = size;
     }
 
     @Override
     public int size() {
-      return this.elements.size();
+      return this.size;
     }
 
     @Override
     public Optional<V> get(final K key) {
       requireNonNull(key, "key");
-      return Optional.ofNullable(this.elements.get(key));
+      if (this.k0 == key || this.k0.equals(key)) { return Optional.of(this.v0); }
+      if (1 < this.size && (this.k1 == key || this.k1.equals(key))) { return Optional.of(this.v1); }
+      if (2 < this.size && (this.k2 == key || this.k2.equals(key))) { return Optional.of(this.v2); }
+      if (3 < this.size && (this.k3 == key || this.k3.equals(key))) { return Optional.of(this.v3); }
+      return Optional.empty();
     }
 
     @Override
     public Stream<Map.Entry<K, V>> stream() {
-      return this.elements.entrySet().stream();
-    }
-
-    @Override
-    public @NotNull Iterator<Map.Entry<K, V>> iterator() {
-      return this.elements.entrySet().iterator();
+      return IntStream.range(0, this.size).mapToObj(this::entry);
+    }
+
+    private Map.Entry<K, V> entry(final int index) {
+      switch (index) {
+        case 0:
+          return Map.entry(this.k0, this.v0);
+        case 1:
+          return Map.entry(this.k1, this.v1);
+        case 2:
+          return Map.entry(this.k2, this.v2);
+        default:
+          return Map.entry(this.k3, this.v3);
+      }
     }
   }
 
-  static final class LinkedNode<K, V> extends AbstractNode<K, V> {
+  // Fixed layout of keys and values by slot, the keys array is usually shared by many maps of the same shape
+  static final class SlotNode<K, V> extends AbstractNode<K, V> {
 
-    private static final long serialVersionUID = 396087743908116680L;
+    private static final long serialVersionUID = -2981475502343318126L;
 
-    private final LinkedHashMap<K, V> elements;
-    private final int hashCode;
-    private final K key;
-    private final V value;
+    private final K[] keys;
+    private final V[] values;
 
-    LinkedNode(final LinkedHashMap<K, V> elements, final K key, final V value) {
-      this.elements = elements;
-      this.hashCode = key.hashCode();
-      this.key = key;
-      this.value = requireNonNull(value, "value");
+    SlotNode(final K[] keys, final V[] values) {
+      this.keys = keys;
+      this.values = values;
     }
 
     @Override
     public int size() {
-      return this.elements.size() + 1;
+      return this.keys.length;
     }
 
     @Override
     public Optional<V> get(final K key) {
-      if (key.hashCode() == this.hashCode && key.equals(this.key)) { return Optional.of(this.value); }
-      return this.elements.get(key);
+      requireNonNull(key, "key");
+      for (int i = 0; i < this.keys.length; ++i) {
+        final K k = this.keys[i];
+        if (k == key || k.equals(key)) { return Optional.of(this.values[i]); }
+      }
+      return Optional.empty();
     }
 
     @Override
     public Stream<Map.Entry<K, V>> stream() {
-      return Stream.concat(
-          this.elements.stream(),
-          Stream.of(Map.entry(this.key, this.value))
-      );
+      return IntStream.range(0, this.keys.length).mapToObj(i -> Map.entry(this.keys[i], this.values[i]));
     }
   }
 
-  static final class ReplacingNode<K, V> extends AbstractNode<K, V> {
+  // A compressed hash array mapped prefix trie holding the entries, along with a vector of the same entries in
+  // insertion order. Lookups, insertions, replacements and removals all take a logarithmic number of steps. Removed
+  // entries leave a tombstone behind in the vector, which is rebuilt once the tombstones outnumber the entries
+  static final class ChampNode<K, V> extends AbstractNode<K, V> {
+
+    private static final long serialVersionUID = -1488519245771405373L;
+
+    private static final int SHIFT = 5;
+    private static final int MASK = (1 << SHIFT) - 1;
+    // entries that still collide past this shift have the same hash code
+    private static final int MAX_SHIFT = Integer.SIZE;
+    private static final Trie EMPTY = new Trie(0, 0, new Object[0]);
+
+    static <K, V> ChampNode<K, V> ofAll(final Iterable<? extends Map.Entry<? extends K, ? extends V>> entries) {
+      Trie trie = EMPTY;
+      LinkedList<Object> order = LinkedList.empty();
+      int size = 0;
+      for (final Map.Entry<? extends K, ? extends V> entry : entries) {
+        final int hash = hash(entry.getKey());
+        if (null != trie.find(entry.getKey(), hash, 0)) { continue; }
+        final Slot slot = new Slot(entry.getKey(), entry.getValue(), size++);
+        trie = trie.put(slot, hash, 0);
+        order = order.append(slot);
+      }
+      return new ChampNode<>(trie, order, size);
+    }
+
+    // later occurrences of a key either replace the value of the first one or are dropped
+    static <K, V> ChampNode<K, V> ofAll(final Object[] keys, final Object[] values, final int length,
+                                        final boolean replace) {
+      Trie trie = EMPTY;
+      final Object[] slots = new Object[length];
+      int size = 0;
+      for (int i = 0; i < length; ++i) {
+        final int hash = hash(requireNonNull(keys[i], "key"));
+        final Slot existing = trie.find(keys[i], hash, 0);
+        if (null == existing) {
+          final Slot slot = new Slot(keys[i], values[i], size);
+          trie = trie.put(slot, hash, 0);
+          slots[size++] = slot;
+        } else if (replace) {
+          final Slot slot = new Slot(existing.key, values[i], existing.index);
+          trie = trie.put(slot, hash, 0);
+          slots[slot.index] = slot;
+        }
+      }
+      return new ChampNode<>(trie, LinkedList.wrap(slots, size), size);
+    }
 
-    private static final long serialVersionUID = 7566370458510469889L;
+    private static int hash(final Object key) {
+      final int hash = key.hashCode();
+      return hash ^ hash >>> 16;
+    }
 
-    private final LinkedHashMap<K, V> elements;
-    private final int hashCode;
-    private final K key;
-    private final V value;
+    private final Trie trie;
+    // slots by insertion order, removed ones replaced by tombstones
+    private final LinkedList<Object> order;
+    private final int size;
 
-    ReplacingNode(final LinkedHashMap<K, V> elements, final K key, final V value) {
-      this.elements = elements;
-      this.hashCode = key.hashCode();
-      this.key = key;
-      this.value = requireNonNull(value, "value");
+    private ChampNode(final Trie trie, final LinkedList<Object> order, final int size) {
+      this.trie = trie;
+      this.order = order;
+      this.size = size;
     }
 
     @Override
     public int size() {
-      return this.elements.size();
+      return this.size;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Optional<V> get(final K key) {
-      if (key.hashCode() == this.hashCode && key.equals(this.key)) { return Optional.of(this.value); }
-      return this.elements.get(key);
+      requireNonNull(key, "key");
+      final Slot slot = this.trie.find(key, hash(key), 0);
+      return null == slot ? Optional.empty() : Optional.of((V) slot.value);
     }
 
     @Override
-    public Stream<Map.Entry<K, V>> stream() {
-      return Stream.concat(
-          Stream.concat(
-              this.elements.stream().takeWhile(entry -> {
-                final K key = entry.getKey();
-                return key.hashCode() != this.hashCode || !key.equals(this.key);
-              }),
-              Stream.of(Map.entry(this.key, this.value))
-          ),
-          this.elements.stream().dropWhile(entry -> {
-            final K key = entry.getKey();
-            return key.hashCode() != this.hashCode || !key.equals(this.key);
-          }).skip(1L)
-      );
-    }
-  }
-
-  static final class RemovingNode<K, V> extends AbstractNode<K, V> {
-
-    private static final long serialVersionUID = 1163848859587457585L;
-
-    private final LinkedHashMap<K, V> elements;
-    private final int hashCode;
-    private final K key;
+    public LinkedHashMap<K, V> withMapping(final K key, final V value) {
+      requireNonNull(key, "key");
+      requireNonNull(value, "value");
+      final int hash = hash(key);
+      final Slot existing = this.trie.find(key, hash, 0);
+      if (null == existing) {
+        final Slot slot = new Slot(key, value, this.order.size());
+        return new ChampNode<>(this.trie.put(slot, hash, 0), this.order.append(slot), this.size + 1);
+      }
 
-    RemovingNode(final LinkedHashMap<K, V> elements, final K key) {
-      this.elements = elements;
-      this.hashCode = key.hashCode();
-      this.key = key;
+      if (value.equals(existing.value)) { return this; }
+      final Slot slot = new Slot(existing.key, value, existing.index);
+      return new ChampNode<>(this.trie.put(slot, hash, 0), this.order.with(slot.index, slot), this.size);
     }
 
     @Override
-    public int size() {
-      return this.elements.size() - 1;
+    @SuppressWarnings("unchecked")
+    public LinkedHashMap<K, V> remove(final K key) {
+      requireNonNull(key, "key");
+      // shrinking back to the slot limit flattens the entries again
+      if (MAX_SLOTS >= this.size - 1) { return super.remove(key); }
+      final int hash = hash(key);
+      final Slot existing = this.trie.find(key, hash, 0);
+      if (null == existing) { return this; }
+
+      final ChampNode<K, V> removed = new ChampNode<>(
+          this.trie.remove(key, hash, 0),
+          this.order.with(existing.index, Tombstone.INSTANCE),
+          this.size - 1
+      );
+      if (removed.order.size() - removed.size <= Math.max(removed.size, 1 << SHIFT)) { return removed; }
+      return ofAll(removed.stream().collect(toList()));
     }
 
     @Override
-    public Optional<V> get(final K key) {
-      if (key.hashCode() == this.hashCode && key.equals(this.key)) { return Optional.empty(); }
-      return this.elements.get(key);
+    @SuppressWarnings("unchecked")
+    public Stream<Map.Entry<K, V>> stream() {
+      return this.order.stream().filter(Slot.class::isInstance).map(slot -> (Map.Entry<K, V>) slot);
     }
 
     @Override
-    public Stream<Map.Entry<K, V>> stream() {
-      return Stream.concat(
-          this.elements.stream().takeWhile(entry -> {
-            final K key = entry.getKey();
-            return key.hashCode() != this.hashCode || !key.equals(this.key);
-          }),
-          this.elements.stream().dropWhile(entry -> {
-            final K key = entry.getKey();
-            return key.hashCode() != this.hashCode || !key.equals(this.key);
-          }).skip(1L)
-      );
+    ChampNode<K, V> champ() {
+      return this;
+    }
+
+    private enum Tombstone {
+      INSTANCE
+    }
+
+    private static final class Slot implements Map.Entry<Object, Object>, Serializable {
+
+      private static final long serialVersionUID = 3404264919227624962L;
+
+      final Object key;
+      final Object value;
+      final int index;
+
+      Slot(final Object key, final Object value, final int index) {
+        this.key = requireNonNull(key, "key");
+        this.value = requireNonNull(value, "value");
+        this.index = index;
+      }
+
+      @Override
+      public Object getKey() {
+        return this.key;
+      }
+
+      @Override
+      public Object getValue() {
+        return this.value;
+      }
+
+      @Override
+      public Object setValue(final Object value) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public boolean equals(final Object other) {
+        return other instanceof Map.Entry<?, ?>
+               && this.key.equals(((Map.Entry<?, ?>) other).getKey())
+               && this.value.equals(((Map.Entry<?, ?>) other).getValue());
+      }
+
+      @Override
+      public int hashCode() {
+        return this.key.hashCode() ^ this.value.hashCode();
+      }
+
+      @Override
+      public String toString() {
+        return this.key + "=" + this.value;
+      }
+    }
+
+    // Slots come first in the contents, ordered by their bit in the data map, followed by the sub-tries ordered by
+    // their bit in the node map. Past the last shift, every slot of a trie has the same hash code and the data map is
+    // meaningless
+    private static final class Trie implements Serializable {
+
+      private static final long serialVersionUID = -5893542283213416223L;
+
+      private final int dataMap;
+      private final int nodeMap;
+      private final Object[] contents;
+
+      Trie(final int dataMap, final int nodeMap, final Object[] contents) {
+        this.dataMap = dataMap;
+        this.nodeMap = nodeMap;
+        this.contents = contents;
+      }
+
+      @Nullable Slot find(final Object key, final int hash, final int shift) {
+        if (MAX_SHIFT <= shift) {
+          for (final Object slot : this.contents) {
+            if (key.equals(((Slot) slot).key)) { return (Slot) slot; }
+          }
+          return null;
+        }
+
+        final int bit = 1 << (hash >>> shift & MASK);
+        if (0 != (this.dataMap & bit)) {
+          final Slot slot = (Slot) this.contents[Integer.bitCount(this.dataMap & bit - 1)];
+          return key.equals(slot.key) ? slot : null;
+        } else if (0 != (this.nodeMap & bit)) {
+          return subTrie(bit).find(key, hash, shift + SHIFT);
+        }
+        return null;
+      }
+
+      // the slot is added, or replaces the one with an equal key
+      Trie put(final Slot slot, final int hash, final int shift) {
+        if (MAX_SHIFT <= shift) {
+          for (int i = 0; i < this.contents.length; ++i) {
+            if (slot.key.equals(((Slot) this.contents[i]).key)) { return new Trie(0, 0, replaced(i, slot)); }
+          }
+          return new Trie(0, 0, inserted(this.contents.length, slot));
+        }
+
+        final int bit = 1 << (hash >>> shift & MASK);
+        if (0 != (this.dataMap & bit)) {
+          final int index = Integer.bitCount(this.dataMap & bit - 1);
+          final Slot existing = (Slot) this.contents[index];
+          if (slot.key.equals(existing.key)) { return new Trie(this.dataMap, this.nodeMap, replaced(index, slot)); }
+
+          // both slots move down into a new sub-trie
+          final Trie subTrie = of(existing, hash(existing.key), slot, hash, shift + SHIFT);
+          final Object[] contents = new Object[this.contents.length];
+          final int nodeIndex = this.contents.length - 1 - Integer.bitCount(this.nodeMap & (-bit ^ bit));
+          System.arraycopy(this.contents, 0, contents, 0, index);
+          System.arraycopy(this.contents, index + 1, contents, index, nodeIndex - index);
+          contents[nodeIndex] = subTrie;
+          System.arraycopy(this.contents, nodeIndex + 1, contents, nodeIndex + 1, contents.length - nodeIndex - 1);
+          return new Trie(this.dataMap ^ bit, this.nodeMap | bit, contents);
+        } else if (0 != (this.nodeMap & bit)) {
+          final int index = nodeIndex(bit);
+          final Trie subTrie = ((Trie) this.contents[index]).put(slot, hash, shift + SHIFT);
+          return new Trie(this.dataMap, this.nodeMap, replaced(index, subTrie));
+        }
+
+        return new Trie(this.dataMap | bit, this.nodeMap, inserted(Integer.bitCount(this.dataMap & bit - 1), slot));
+      }
+
+      // the key must be present
+      Trie remove(final Object key, final int hash, final int shift) {
+        if (MAX_SHIFT <= shift) {
+          for (int i = 0; i < this.contents.length; ++i) {
+            if (key.equals(((Slot) this.contents[i]).key)) { return new Trie(0, 0, removed(i)); }
+          }
+          throw new IllegalStateException();
+        }
+
+        final int bit = 1 << (hash >>> shift & MASK);
+        if (0 != (this.dataMap & bit)) {
+          return new Trie(this.dataMap ^ bit, this.nodeMap, removed(Integer.bitCount(this.dataMap & bit - 1)));
+        }
+
+        final int index = nodeIndex(bit);
+        final Trie subTrie = ((Trie) this.contents[index]).remove(key, hash, shift + SHIFT);
+        if (0 != subTrie.nodeMap || 1 != subTrie.contents.length) {
+          return new Trie(this.dataMap, this.nodeMap, replaced(index, subTrie));
+        }
+
+        // a sub-trie left with a single slot is inlined
+        final int slotIndex = Integer.bitCount(this.dataMap & bit - 1);
+        final Object[] contents = new Object[this.contents.length];
+        System.arraycopy(this.contents, 0, contents, 0, slotIndex);
+        contents[slotIndex] = subTrie.contents[0];
+        System.arraycopy(this.contents, slotIndex, contents, slotIndex + 1, index - slotIndex);
+        System.arraycopy(this.contents, index + 1, contents, index + 1, contents.length - index - 1);
+        return new Trie(this.dataMap | bit, this.nodeMap ^ bit, contents);
+      }
+
+      private static Trie of(final Slot first, final int firstHash, final Slot second, final int secondHash,
+                             final int shift) {
+        if (MAX_SHIFT <= shift) { return new Trie(0, 0, new Object[] { first, second }); }
+        final int firstBit = 1 << (firstHash >>> shift & MASK);
+        final int secondBit = 1 << (secondHash >>> shift & MASK);
+        if (firstBit == secondBit) {
+          return new Trie(0, firstBit, new Object[] { of(first, firstHash, second, secondHash, shift + SHIFT) });
+        }
+
+        final Object[] contents = Integer.compareUnsigned(firstBit, secondBit) < 0
+                                  ? new Object[] { first, second }
+                                  : new Object[] { second, first };
+        return new Trie(firstBit | secondBit, 0, contents);
+      }
+
+      private int nodeIndex(final int bit) {
+        return this.contents.length - Integer.bitCount(this.nodeMap) + Integer.bitCount(this.nodeMap & bit - 1);
+      }
+
+      private Trie subTrie(final int bit) {
+        return (Trie) this.contents[nodeIndex(bit)];
+      }
+
+      private Object[] replaced(final int index, final Object element) {
+        final Object[] contents = this.contents.clone();
+        contents[index] = element;
+        return contents;
+      }
+
+      private Object[] inserted(final int index, final Object element) {
+        final Object[] contents = new Object[this.contents.length + 1];
+        System.arraycopy(this.contents, 0, contents, 0, index);
+        contents[index] = element;
+        System.arraycopy(this.contents, index, contents, index + 1, this.contents.length - index);
+        return contents;
+      }
+
+      private Object[] removed(final int index) {
+        final Object[] contents = new Object[this.contents.length - 1];
+        System.arraycopy(this.contents, 0, contents, 0, index);
+        System.arraycopy(this.contents, index + 1, contents, index, contents.length - index);
+        return contents;
+      }
     }
   }
 }
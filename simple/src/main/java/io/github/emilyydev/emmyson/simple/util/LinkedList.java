@@ -19,6 +19,7 @@
 package io.github.emilyydev.emmyson.simple.util;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -30,6 +31,7 @@ import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.collectingAndThen;
@@ -68,6 +70,20 @@ public interface LinkedList<T> extends Iterable<T>, Serializable {
     }
   }
 
+  // takes ownership of the given array, which must not be modified afterwards nor contain nulls
+  static <T> LinkedList<T> wrap(final Object[] elements) {
+    return wrap(elements, elements.length);
+  }
+
+  // same as above, only the first size elements are part of the list
+  static <T> LinkedList<T> wrap(final Object[] elements, final int size) {
+    if (size == 0) {
+      return empty();
+    } else {
+      return new LinkedList$.ArrayNode<>(elements, size);
+    }
+  }
+
   boolean isEmpty();
   int size();
 
@@ -246,58 +262,60 @@ final class LinkedList$ {
     }
 
     @Override
-    public final LinkedList<T> with(final int index, final T element) {
+    public LinkedList<T> with(final int index, final T element) {
       checkBounds(index);
-      return new ReplacingNode<>(this, index, element);
+      return vector().with(index, element);
     }
 
     @Override
-    public final LinkedList<T> remove(final int index) {
+    public LinkedList<T> remove(final int index) {
       checkBounds(index);
-      if (size() == 1) { return LinkedList.empty(); }
-      return new RemovingNode<>(this, index);
+      return vector().remove(index);
     }
 
     @Override
-    public final LinkedList<T> append(final T element) {
-      return new LinkedNode<>(this, LinkedList.single(element));
+    public LinkedList<T> append(final T element) {
+      return vector().append(element);
     }
 
     @Override
-    public final LinkedList<T> appendAll(final Collection<? extends T> elements) {
+    public LinkedList<T> appendAll(final Collection<? extends T> elements) {
       if (elements.isEmpty()) { return this; }
-      return new LinkedNode<>(this, LinkedList.ofAll(elements));
+      return vector().appendAll(elements);
     }
 
     @Override
-    public final LinkedList<T> appendAll(final LinkedList<? extends T> elements) {
+    public LinkedList<T> appendAll(final LinkedList<? extends T> elements) {
       if (elements.isEmpty()) { return this; }
-      return new LinkedNode<>(this, elements);
+      return vector().appendAll(elements);
     }
 
     @Override
-    public final LinkedList<T> prepend(final T element) {
-      return new LinkedNode<>(LinkedList.single(element), this);
+    public LinkedList<T> prepend(final T element) {
+      return vector().prepend(element);
     }
 
     @Override
-    public final LinkedList<T> prependAll(final Collection<? extends T> elements) {
+    public LinkedList<T> prependAll(final Collection<? extends T> elements) {
       if (elements.isEmpty()) { return this; }
-      return new LinkedNode<>(LinkedList.ofAll(elements), this);
+      return vector().prependAll(elements);
     }
 
     @Override
-    public final LinkedList<T> prependAll(final LinkedList<? extends T> elements) {
+    public LinkedList<T> prependAll(final LinkedList<? extends T> elements) {
       if (elements.isEmpty()) { return this; }
-      return new LinkedNode<>(elements, this);
+      return vector().prependAll(elements);
     }
 
     @Override
-    public final LinkedList<T> insert(final int index, final T element) {
-      if (index == 0) { return prepend(element); }
-      if (index == size()) { return append(element); }
-      checkBounds(index);
-      return new InsertingNode<>(this, index, element);
+    public LinkedList<T> insert(final int index, final T element) {
+      if (index != size()) { checkBounds(index); }
+      return vector().insert(index, element);
+    }
+
+    // flat nodes are built once and read, the first modification moves their elements into a vector
+    VectorNode<T> vector() {
+      return VectorNode.ofAll(stream().toArray());
     }
 
     @Override
@@ -370,143 +388,526 @@ final class LinkedList$ {
     }
   }
 
-  static final class LinkedNode<T> extends AbstractNode<T> {
+  // flat elements straight out of an array, the most compact node and the only one that can be split evenly
+  static final class ArrayNode<T> extends AbstractNode<T> {
 
-    private static final long serialVersionUID = -7140050832119318192L;
+    private static final long serialVersionUID = -2417720545836310594L;
 
-    private final LinkedList<? extends T> pre;
-    private final LinkedList<? extends T> post;
+    private final Object[] elements;
+    private final int size;
 
-    LinkedNode(final LinkedList<? extends T> pre, final LinkedList<? extends T> post) {
-      this.pre = pre;
-      this.post = post;
+    ArrayNode(final Object[] elements, final int size) {
+      this.elements = elements;
+      this.size = size;
     }
 
     @Override
     public int size() {
-      return this.pre.size() + this.post.size();
+      return this.size;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public T get(final int index) {
       checkBounds(index);
-      if (index < this.pre.size()) { return this.pre.get(index); }
-      return this.post.get(index - this.pre.size());
+      return (T) this.elements[index];
     }
 
     @Override
     public Stream<T> stream() {
-      return Stream.concat(this.pre.stream(), this.post.stream());
+      return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+      return Spliterators.spliterator(
+          this.elements, 0, this.size,
+          Spliterator.ORDERED
+          | Spliterator.NONNULL
+          | Spliterator.IMMUTABLE
+      );
     }
   }
 
-  static final class InsertingNode<T> extends AbstractNode<T> {
+  // A relaxed radix balanced tree. Leaves hold up to 32 elements and branches up to 32 children along with the
+  // running sizes of their children, so nodes don't need to be full and whole subtrees can be spliced in anywhere:
+  // get, set, insert, remove and concatenation all take a logarithmic number of steps. Appended elements gather in a
+  // tail of up to 32 elements that only joins the tree once it's full
+  static final class VectorNode<T> extends AbstractNode<T> {
+
+    private static final long serialVersionUID = 4518270306624879915L;
+
+    private static final int SHIFT = 5;
+    private static final int WIDTH = 1 << SHIFT;
+    private static final int HALF = WIDTH >> 1;
+    private static final Object[] EMPTY = {};
+
+    // takes ownership of the given array
+    static <T> VectorNode<T> ofAll(final Object[] elements) {
+      for (final Object element : elements) { requireNonNull(element, "element"); }
+      final int tailLength = elements.length - (Math.max(0, elements.length - 1) >> SHIFT << SHIFT);
+      final int treeSize = elements.length - tailLength;
+      if (0 == treeSize) { return new VectorNode<>(null, 0, 0, elements); }
+
+      Object[] nodes = new Object[treeSize >> SHIFT];
+      for (int i = 0; i < nodes.length; ++i) { nodes[i] = copyOfRange(elements, i << SHIFT, (i + 1) << SHIFT); }
+      int height = 0;
+      while (1 < nodes.length) {
+        final Object[] branches = new Object[(nodes.length + WIDTH - 1) >> SHIFT];
+        for (int i = 0; i < branches.length; ++i) {
+          branches[i] = branch(copyOfRange(nodes, i << SHIFT, Math.min(nodes.length, (i + 1) << SHIFT)), height);
+        }
+        nodes = branches;
+        ++height;
+      }
 
-    private static final long serialVersionUID = 1142681987017348905L;
+      return new VectorNode<>(nodes[0], height, treeSize, copyOfRange(elements, treeSize, elements.length));
+    }
 
-    private final LinkedList<? extends T> elements;
-    private final int index;
-    private final T element;
+    // leaves are the element arrays themselves, and the root is null while everything fits in the tail
+    private final @Nullable Object root;
+    private final int height;
+    private final int treeSize;
+    private final Object[] tail;
 
-    InsertingNode(final LinkedList<? extends T> elements, final int index, final T element) {
-      this.elements = elements;
-      this.index = index;
-      this.element = requireNonNull(element, "element");
+    private VectorNode(final @Nullable Object root, final int height, final int treeSize, final Object[] tail) {
+      this.root = root;
+      this.height = height;
+      this.treeSize = treeSize;
+      this.tail = tail;
     }
 
     @Override
     public int size() {
-      return this.elements.size() + 1;
+      return this.treeSize + this.tail.length;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public T get(final int index) {
       checkBounds(index);
-      if (index == this.index) { return this.element; }
-      if (index < this.index) { return this.elements.get(index); }
-      return this.elements.get(index - 1);
+      if (index >= this.treeSize) { return (T) this.tail[index - this.treeSize]; }
+
+      Object node = this.root;
+      int i = index;
+      for (int h = this.height; h > 0; --h) {
+        final Branch branch = (Branch) node;
+        final int slot = branch.slotOf(i, h);
+        if (slot > 0) { i -= branch.sizes[slot - 1]; }
+        node = branch.children[slot];
+      }
+      return (T) ((Object[]) node)[i];
     }
 
     @Override
-    public Stream<T> stream() {
-      return Stream.concat(
-          Stream.concat(
-              this.elements.stream().limit(this.index),
-              Stream.of(this.element)
-          ),
-          this.elements.stream().skip(this.index)
-      );
+    public LinkedList<T> with(final int index, final T element) {
+      checkBounds(index);
+      requireNonNull(element, "element");
+      if (index >= this.treeSize) {
+        final Object[] tail = this.tail.clone();
+        tail[index - this.treeSize] = element;
+        return new VectorNode<>(this.root, this.height, this.treeSize, tail);
+      }
+
+      return new VectorNode<>(update(requireNonNull(this.root), this.height, index, element), this.height,
+          this.treeSize, this.tail);
     }
-  }
 
-  static final class ReplacingNode<T> extends AbstractNode<T> {
+    @Override
+    public LinkedList<T> remove(final int index) {
+      checkBounds(index);
+      if (size() == 1) { return LinkedList.empty(); }
+      if (index >= this.treeSize) {
+        return new VectorNode<>(this.root, this.height, this.treeSize, without(this.tail, index - this.treeSize));
+      }
 
-    private static final long serialVersionUID = -914113675395169143L;
+      Object root = remove(requireNonNull(this.root), this.height, index);
+      int height = this.height;
+      while (null != root && 0 < height && 1 == ((Branch) root).children.length) {
+        root = ((Branch) root).children[0];
+        --height;
+      }
+      return new VectorNode<>(root, null == root ? 0 : height, this.treeSize - 1, this.tail);
+    }
 
-    private final LinkedList<? extends T> elements;
-    private final int index;
-    private final T element;
+    @Override
+    public LinkedList<T> append(final T element) {
+      return insert(size(), element);
+    }
 
-    ReplacingNode(final LinkedList<? extends T> elements, final int index, final T element) {
-      this.elements = elements;
-      this.index = index;
-      this.element = requireNonNull(element, "element");
+    @Override
+    public LinkedList<T> appendAll(final Collection<? extends T> elements) {
+      if (elements.isEmpty()) { return this; }
+      return concat(this, ofAll(elements.toArray()));
     }
 
     @Override
-    public int size() {
-      return this.elements.size();
+    public LinkedList<T> appendAll(final LinkedList<? extends T> elements) {
+      if (elements.isEmpty()) { return this; }
+      return concat(this, ((AbstractNode<? extends T>) elements).vector());
     }
 
     @Override
-    public T get(final int index) {
-      checkBounds(index);
-      if (index == this.index) { return this.element; }
-      return this.elements.get(index);
+    public LinkedList<T> prepend(final T element) {
+      return insert(0, element);
     }
 
     @Override
-    public Stream<T> stream() {
-      return Stream.concat(
-          Stream.concat(
-              this.elements.stream().limit(this.index),
-              Stream.of(this.element)
-          ),
-          this.elements.stream().skip(this.index + 1L)
-      );
+    public LinkedList<T> prependAll(final Collection<? extends T> elements) {
+      if (elements.isEmpty()) { return this; }
+      return concat(ofAll(elements.toArray()), this);
     }
-  }
 
-  static final class RemovingNode<T> extends AbstractNode<T> {
+    @Override
+    public LinkedList<T> prependAll(final LinkedList<? extends T> elements) {
+      if (elements.isEmpty()) { return this; }
+      return concat(((AbstractNode<? extends T>) elements).vector(), this);
+    }
 
-    private static final long serialVersionUID = -4044406630037453074L;
+    @Override
+    public LinkedList<T> insert(final int index, final T element) {
+      if (index != size()) { checkBounds(index); }
+      requireNonNull(element, "element");
+      if (index >= this.treeSize) {
+        final Object[] tail = with(this.tail, index - this.treeSize, element);
+        if (WIDTH >= tail.length) { return new VectorNode<>(this.root, this.height, this.treeSize, tail); }
+        // the tail is full, its first 32 elements join the tree as a leaf
+        final Object[] leaf = copyOfRange(tail, 0, WIDTH);
+        return joined(this.root, this.height, leaf, 0, this.treeSize + WIDTH, copyOfRange(tail, WIDTH, tail.length));
+      }
 
-    private final LinkedList<? extends T> elements;
-    private final int index;
+      final Object[] nodes = insert(requireNonNull(this.root), this.height, index, element);
+      if (1 == nodes.length) { return new VectorNode<>(nodes[0], this.height, this.treeSize + 1, this.tail); }
+      return new VectorNode<>(branch(nodes, this.height), this.height + 1, this.treeSize + 1, this.tail);
+    }
 
-    RemovingNode(final LinkedList<? extends T> elements, final int index) {
-      this.elements = elements;
-      this.index = index;
+    @Override
+    VectorNode<T> vector() {
+      return this;
     }
 
     @Override
-    public int size() {
-      return this.elements.size() - 1;
+    public Stream<T> stream() {
+      return StreamSupport.stream(spliterator(), false);
     }
 
     @Override
-    public T get(final int index) {
-      checkBounds(index);
-      if (index < this.index) { return this.elements.get(index); }
-      return this.elements.get(index + 1);
+    public @NotNull Iterator<T> iterator() {
+      return Spliterators.iterator(spliterator());
     }
 
     @Override
-    public Stream<T> stream() {
-      return Stream.concat(
-          this.elements.stream().limit(this.index),
-          this.elements.stream().skip(this.index + 1L)
-      );
+    public Spliterator<T> spliterator() {
+      return new Cursor(0, size());
+    }
+
+    // small sides are added element by element so that leaves stay dense, anything bigger is spliced in as a subtree
+    @SuppressWarnings("unchecked")
+    private static <T> LinkedList<T> concat(final VectorNode<? extends T> first,
+                                            final VectorNode<? extends T> second) {
+      if (WIDTH >= second.size()) {
+        LinkedList<T> result = (LinkedList<T>) first;
+        for (final T element : second) { result = result.append(element); }
+        return result;
+      } else if (WIDTH >= first.size()) {
+        LinkedList<T> result = (LinkedList<T>) second;
+        for (int i = first.size() - 1; i >= 0; --i) { result = result.prepend(first.get(i)); }
+        return result;
+      }
+
+      final VectorNode<? extends T> left = first.flushed();
+      final VectorNode<? extends T> right = second.flushed();
+      final Object[] nodes;
+      final int height;
+      if (left.height >= right.height) {
+        nodes = joinRight(requireNonNull(left.root), left.height, requireNonNull(right.root), right.height);
+        height = left.height;
+      } else {
+        nodes = joinLeft(requireNonNull(left.root), left.height, requireNonNull(right.root), right.height);
+        height = right.height;
+      }
+
+      final int size = left.treeSize + right.treeSize;
+      if (1 == nodes.length) { return new VectorNode<>(nodes[0], height, size, EMPTY); }
+      return new VectorNode<>(branch(nodes, height), height + 1, size, EMPTY);
+    }
+
+    // this vector with the tail moved into the tree
+    private VectorNode<T> flushed() {
+      if (0 == this.tail.length) { return this; }
+      return joined(this.root, this.height, this.tail, 0, size(), EMPTY);
+    }
+
+    private static <T> VectorNode<T> joined(
+        final @Nullable Object root,
+        final int height,
+        final Object subtree,
+        final int subtreeHeight,
+        final int treeSize,
+        final Object[] tail
+    ) {
+      if (null == root) { return new VectorNode<>(subtree, subtreeHeight, treeSize, tail); }
+      final Object[] nodes = joinRight(root, height, subtree, subtreeHeight);
+      if (1 == nodes.length) { return new VectorNode<>(nodes[0], height, treeSize, tail); }
+      return new VectorNode<>(branch(nodes, height), height + 1, treeSize, tail);
+    }
+
+    // the given subtree joined to the right of the node, which must be at least as high, as one node or two halves
+    private static Object[] joinRight(
+        final Object node,
+        final int height,
+        final Object subtree,
+        final int subtreeHeight
+    ) {
+      if (height == subtreeHeight) {
+        if (WIDTH >= width(node, height) + width(subtree, height)) {
+          return new Object[] { merge(node, subtree, height) };
+        }
+        return new Object[] { node, subtree };
+      }
+
+      final Branch branch = (Branch) node;
+      final int last = branch.children.length - 1;
+      return branch.replace(height, last, 1, joinRight(branch.children[last], height - 1, subtree, subtreeHeight));
+    }
+
+    // the given subtree joined to the left of the node, which must be at least as high, as one node or two halves
+    private static Object[] joinLeft(
+        final Object subtree,
+        final int subtreeHeight,
+        final Object node,
+        final int height
+    ) {
+      if (height == subtreeHeight) {
+        if (WIDTH >= width(subtree, height) + width(node, height)) {
+          return new Object[] { merge(subtree, node, height) };
+        }
+        return new Object[] { subtree, node };
+      }
+
+      final Branch branch = (Branch) node;
+      return branch.replace(height, 0, 1, joinLeft(subtree, subtreeHeight, branch.children[0], height - 1));
+    }
+
+    private static Object update(final Object node, final int height, final int index, final Object element) {
+      if (0 == height) {
+        final Object[] leaf = ((Object[]) node).clone();
+        leaf[index] = element;
+        return leaf;
+      }
+
+      final Branch branch = (Branch) node;
+      final int slot = branch.slotOf(index, height);
+      final Object[] children = branch.children.clone();
+      children[slot] = update(children[slot], height - 1, index - branch.offsetOf(slot), element);
+      return new Branch(children, branch.sizes);
+    }
+
+    // the node with the element inserted, as one node or two halves if it overflowed
+    private static Object[] insert(final Object node, final int height, final int index, final Object element) {
+      if (0 == height) {
+        final Object[] leaf = with((Object[]) node, index, element);
+        if (WIDTH >= leaf.length) { return new Object[] { leaf }; }
+        return new Object[] { copyOfRange(leaf, 0, HALF), copyOfRange(leaf, HALF, leaf.length) };
+      }
+
+      final Branch branch = (Branch) node;
+      final int slot = branch.slotOf(index, height);
+      final Object[] nodes = insert(branch.children[slot], height - 1, index - branch.offsetOf(slot), element);
+      return branch.replace(height, slot, 1, nodes);
+    }
+
+    // the node with the element removed, or null if nothing's left. Children that thin out are merged with a neighbour
+    // whenever they fit together, which keeps the tree from growing sparse
+    private static @Nullable Object remove(final Object node, final int height, final int index) {
+      if (0 == height) {
+        final Object[] leaf = (Object[]) node;
+        return 1 == leaf.length ? null : without(leaf, index);
+      }
+
+      final Branch branch = (Branch) node;
+      final int slot = branch.slotOf(index, height);
+      final Object child = remove(branch.children[slot], height - 1, index - branch.offsetOf(slot));
+      if (null == child) {
+        return 1 == branch.children.length ? null : branch.replace(height, slot, 1, EMPTY)[0];
+      } else if (HALF > width(child, height - 1) && 1 < branch.children.length) {
+        final int first = 0 == slot ? 0 : slot - 1;
+        final Object left = first == slot ? child : branch.children[first];
+        final Object right = first == slot ? branch.children[slot + 1] : child;
+        if (WIDTH >= width(left, height - 1) + width(right, height - 1)) {
+          return branch.replace(height, first, 2, new Object[] { merge(left, right, height - 1) })[0];
+        }
+      }
+
+      return branch.replace(height, slot, 1, new Object[] { child })[0];
+    }
+
+    // how many elements a leaf has, or how many children a branch has
+    private static int width(final Object node, final int height) {
+      return 0 == height ? ((Object[]) node).length : ((Branch) node).children.length;
+    }
+
+    private static int sizeOf(final Object node, final int height) {
+      if (0 == height) { return ((Object[]) node).length; }
+      final int[] sizes = ((Branch) node).sizes;
+      return sizes[sizes.length - 1];
+    }
+
+    private static Object merge(final Object left, final Object right, final int height) {
+      if (0 == height) { return concat((Object[]) left, (Object[]) right); }
+      return branch(concat(((Branch) left).children, ((Branch) right).children), height - 1);
+    }
+
+    private static Branch branch(final Object[] children, final int childHeight) {
+      final int[] sizes = new int[children.length];
+      int size = 0;
+      for (int i = 0; i < children.length; ++i) { sizes[i] = size += sizeOf(children[i], childHeight); }
+      return new Branch(children, sizes);
+    }
+
+    private static Object[] with(final Object[] array, final int index, final Object element) {
+      final Object[] copy = new Object[array.length + 1];
+      System.arraycopy(array, 0, copy, 0, index);
+      copy[index] = element;
+      System.arraycopy(array, index, copy, index + 1, array.length - index);
+      return copy;
+    }
+
+    private static Object[] without(final Object[] array, final int index) {
+      final Object[] copy = new Object[array.length - 1];
+      System.arraycopy(array, 0, copy, 0, index);
+      System.arraycopy(array, index + 1, copy, index, copy.length - index);
+      return copy;
+    }
+
+    private static Object[] concat(final Object[] first, final Object[] second) {
+      final Object[] copy = new Object[first.length + second.length];
+      System.arraycopy(first, 0, copy, 0, first.length);
+      System.arraycopy(second, 0, copy, first.length, second.length);
+      return copy;
+    }
+
+    private static Object[] copyOfRange(final Object[] array, final int from, final int to) {
+      final Object[] copy = new Object[to - from];
+      System.arraycopy(array, from, copy, 0, copy.length);
+      return copy;
+    }
+
+    private static final class Branch implements Serializable {
+
+      private static final long serialVersionUID = -6339014120389478250L;
+
+      final Object[] children;
+      // running sizes, the last one being the size of the whole branch
+      final int[] sizes;
+
+      Branch(final Object[] children, final int[] sizes) {
+        this.children = children;
+        this.sizes = sizes;
+      }
+
+      // children of a branch hold at most 32^height elements each, so the child holding an index is never before the
+      // one it'd be in if every node were full
+      int slotOf(final int index, final int height) {
+        int slot = SHIFT * height < Integer.SIZE ? index >>> SHIFT * height : 0;
+        while (this.sizes[slot] <= index) { ++slot; }
+        return slot;
+      }
+
+      int offsetOf(final int slot) {
+        return 0 == slot ? 0 : this.sizes[slot - 1];
+      }
+
+      // this branch with count children from the given one replaced, as one branch or two halves if it overflowed
+      Object[] replace(final int height, final int from, final int count, final Object[] replacement) {
+        final Object[] children = new Object[this.children.length - count + replacement.length];
+        System.arraycopy(this.children, 0, children, 0, from);
+        System.arraycopy(replacement, 0, children, from, replacement.length);
+        System.arraycopy(this.children, from + count, children, from + replacement.length,
+            this.children.length - from - count);
+        if (WIDTH >= children.length) { return new Object[] { branch(children, height - 1) }; }
+        final int half = children.length >> 1;
+        return new Object[] {
+            branch(copyOfRange(children, 0, half), height - 1),
+            branch(copyOfRange(children, half, children.length), height - 1)
+        };
+      }
+    }
+
+    // walks a range of indices a leaf at a time, halving the range when split
+    private final class Cursor implements Spliterator<T> {
+
+      private final int end;
+      private int index;
+      private Object[] leaf = EMPTY;
+      private int leafStart = 0;
+
+      Cursor(final int index, final int end) {
+        this.index = index;
+        this.end = end;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public boolean tryAdvance(final Consumer<? super T> action) {
+        if (this.index >= this.end) { return false; }
+        if (this.index < this.leafStart || this.index >= this.leafStart + this.leaf.length) { locate(); }
+        action.accept((T) this.leaf[this.index++ - this.leafStart]);
+        return true;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public void forEachRemaining(final Consumer<? super T> action) {
+        while (this.index < this.end) {
+          locate();
+          final int stop = Math.min(this.end, this.leafStart + this.leaf.length);
+          for (; this.index < stop; ++this.index) { action.accept((T) this.leaf[this.index - this.leafStart]); }
+        }
+      }
+
+      private void locate() {
+        final VectorNode<T> vector = VectorNode.this;
+        if (this.index >= vector.treeSize) {
+          this.leaf = vector.tail;
+          this.leafStart = vector.treeSize;
+          return;
+        }
+
+        Object node = vector.root;
+        int i = this.index;
+        for (int h = vector.height; h > 0; --h) {
+          final Branch branch = (Branch) node;
+          final int slot = branch.slotOf(i, h);
+          i -= branch.offsetOf(slot);
+          node = branch.children[slot];
+        }
+        this.leaf = (Object[]) node;
+        this.leafStart = this.index - i;
+      }
+
+      @Override
+      public @Nullable Spliterator<T> trySplit() {
+        final int middle = (this.index + this.end) >>> 1;
+        if (WIDTH > middle - this.index) { return null; }
+        final Cursor prefix = new Cursor(this.index, middle);
+        this.index = middle;
+        return prefix;
+      }
+
+      @Override
+      public long estimateSize() {
+        return this.end - this.index;
+      }
+
+      @Override
+      public int characteristics() {
+        return Spliterator.ORDERED
+               | Spliterator.SIZED
+               | Spliterator.SUBSIZED
+               | Spliterator.NONNULL
+               | Spliterator.IMMUTABLE;
+      }
     }
   }
 }
@@ -20,7 +20,6 @@ package io.github.emilyydev.emmyson.simple.util;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.io.Writer;
 import java.nio.CharBuffer;
 
 public interface Stuff {
@@ -133,7 +132,7 @@ public interface Stuff {
     QUOTE('"'),
     AMPERSAND('&'),
     GREATER_THAN('>'),
-    LESS_THAN('>');
+    LESS_THAN('<');
 
     private final int codePoint;
 
@@ -155,52 +154,26 @@ public interface Stuff {
     private static final Escapable[] ESCAPABLES = values(); // adjectives don't have a plural counterpart but...
     private static final HtmlEscapable[] HTML_ESCAPABLES = HtmlEscapable.values();
 
-    public static void writeMatchingOrWrite(final int codePoint, final Writer out) throws IOException {
+    public static boolean isHtmlEscapable(final int codePoint) {
       for (final HtmlEscapable escapable : HTML_ESCAPABLES) {
         if (escapable.codePoint == codePoint) {
-          writeEscapedCodePoint(codePoint, out);
-          return;
+          return true;
         }
       }
+      return false;
+    }
 
+    public static int controlOf(final int codePoint) {
       for (final Escapable escapable : ESCAPABLES) {
         if (escapable.codePoint == codePoint) {
-          out.write(BACKSLASH.codePoint);
-          out.write(escapable.control);
-          return;
+          return escapable.control;
         }
       }
-
-      if (' ' <= codePoint && '~' >= codePoint) {
-        out.write(codePoint);
-      } else {
-        writeEscapedCodePoint(codePoint, out);
-      }
+      return -1;
     }
 
-    private static void writeEscapedCodePoint(final int codePoint, final Writer out) throws IOException {
-      out.write(BACKSLASH.codePoint);
-      out.write('u');
-      out.write(codePointToHex(codePoint));
-    }
-
-    private static char[] codePointToHex(int codePoint) {
-      final char[] buffer = new char[4];
-      for (int i = 3; i >= 0; --i) {
-        buffer[i] = singleHexChar(codePoint % 16);
-        codePoint /= 16;
-      }
-      return buffer;
-    }
-
-    private static char singleHexChar(final int i) {
-      if (0 <= i && 10 > i) {
-        return (char) ('0' + i);
-      } else if (10 <= i && 16 > i) {
-        return (char) ('a' + i - 10);
-      } else {
-        return '0';
-      }
+    public static boolean isPrintable(final int codePoint) {
+      return ' ' <= codePoint && '~' >= codePoint;
     }
 
     public static boolean readMatching(final int control, final StringBuilder buffer) {
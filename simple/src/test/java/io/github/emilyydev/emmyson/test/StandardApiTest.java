@@ -20,10 +20,29 @@ package io.github.emilyydev.emmyson.test;
 
 import io.github.emilyydev.emmyson.data.DataFactory;
 import io.github.emilyydev.emmyson.data.DataType;
+import io.github.emilyydev.emmyson.data.JsonArray;
+import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonNumber;
+import io.github.emilyydev.emmyson.data.JsonObject;
+import io.github.emilyydev.emmyson.data.JsonString;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class StandardApiTest {
@@ -49,4 +68,206 @@ public class StandardApiTest {
   public void api_dataAsType_invalid() {
     assertTrue(dataFactory.nil().as(DataType.STRING).isFailure());
   }
+
+  @Test
+  public void api_array_flatPersistent() {
+    final JsonArray array = dataFactory.arrayOf(IntStream.range(0, 1_000).mapToObj(i -> dataFactory.number(i)));
+    JsonArray appended = dataFactory.arrayOf();
+    for (int i = 0; i < 1_000; ++i) { appended = appended.append(dataFactory.number(i)); }
+    assertEquals(appended, array);
+    assertEquals(dataFactory.number(567), array.get(567));
+    assertEquals(499_500L, array.stream().parallel().mapToLong(data -> ((JsonNumber) data).asNumber().longValue()).sum());
+
+    final JsonArray modified = array.remove(0).insert(10, dataFactory.nil()).append(dataFactory.string("end"));
+    assertEquals(1_001, modified.size());
+    assertEquals(dataFactory.nil(), modified.get(10));
+    assertEquals(1_000, array.size());
+    assertEquals(dataFactory.number(0), array.get(0));
+    assertEquals(dataFactory.arrayOf(dataFactory.nil(), dataFactory.nil()), dataFactory.arrayOf(null, null));
+  }
+
+  @Test
+  public void api_array_incrementalModifications() {
+    final SplittableRandom random = new SplittableRandom(46);
+    final List<JsonData> expected = new ArrayList<>();
+    JsonArray array = dataFactory.arrayOf();
+    for (int i = 0; i < 5_000; ++i) {
+      final JsonData element = dataFactory.number(i);
+      final int index = random.nextInt(expected.size() + 1);
+      switch (random.nextInt(5)) {
+        case 0:
+          expected.add(element);
+          array = array.append(element);
+          break;
+        case 1:
+          expected.add(0, element);
+          array = array.prepend(element);
+          break;
+        case 2:
+          expected.add(index, element);
+          array = array.insert(index, element);
+          break;
+        case 3:
+          if (index < expected.size()) {
+            expected.remove(index);
+            array = array.remove(index);
+          }
+          break;
+        default:
+          final List<JsonData> more = List.of(element, dataFactory.string("more"), dataFactory.nil());
+          expected.addAll(more);
+          array = array.appendAll(dataFactory.arrayOf(more));
+      }
+    }
+
+    assertEquals(expected.size(), array.size());
+    for (int i = 0; i < expected.size(); ++i) { assertEquals(expected.get(i), array.get(i)); }
+    assertEquals(expected, array.stream().parallel().collect(Collectors.toList()));
+    final List<JsonData> doubled = new ArrayList<>(expected);
+    doubled.addAll(expected);
+    assertEquals(dataFactory.arrayOf(doubled), array.prependAll(array));
+  }
+
+  @Test
+  public void api_object_incrementalModifications() {
+    final SplittableRandom random = new SplittableRandom(47);
+    final Map<JsonString, JsonData> expected = new LinkedHashMap<>();
+    JsonObject object = dataFactory.objectOf();
+    for (int i = 0; i < 5_000; ++i) {
+      final JsonString name = dataFactory.string("field" + random.nextInt(500));
+      if (0 == random.nextInt(3)) {
+        expected.remove(name);
+        object = object.remove(name);
+      } else {
+        final JsonData value = dataFactory.number(random.nextInt(10));
+        expected.put(name, value);
+        object = object.withMapping(name, value);
+      }
+    }
+
+    assertEquals(expected.size(), object.size());
+    for (int i = 0; i < 500; ++i) {
+      final JsonString name = dataFactory.string("field" + i);
+      assertEquals(Optional.ofNullable(expected.get(name)), object.get(name));
+    }
+    assertEquals(List.copyOf(expected.keySet()), List.copyOf(object.asMap().keySet()));
+    assertEquals(expected, object.asMap());
+  }
+
+  @Test
+  public void api_object_smallLayouts() {
+    for (int size = 1; size <= 10; ++size) {
+      final Map<String, JsonData> expected = new LinkedHashMap<>();
+      for (int i = 0; i < size; ++i) { expected.put("field" + i, dataFactory.number(i)); }
+      final JsonObject object = dataFactory.objectOf(expected);
+
+      assertEquals(size, object.size());
+      assertEquals(
+          List.copyOf(expected.keySet()),
+          object.asMap().keySet().stream().map(JsonString::asString).collect(Collectors.toList())
+      );
+      for (final Map.Entry<String, JsonData> entry : expected.entrySet()) {
+        assertEquals(Optional.of(entry.getValue()), object.get(dataFactory.string(entry.getKey())));
+      }
+      assertEquals(Optional.empty(), object.get(dataFactory.string("field" + size)));
+      assertEquals(object, dataFactory.objectOf(expected.entrySet().stream()));
+
+      final JsonString extra = dataFactory.string("extra");
+      final JsonObject grown = object.withMapping(extra, dataFactory.nil());
+      assertEquals(size + 1, grown.size());
+      assertEquals(object, grown.remove(extra));
+      assertEquals(object.hashCode(), grown.remove(extra).hashCode());
+    }
+  }
+
+  @Test
+  public void api_object_duplicateKeysKeepFirst() {
+    final JsonObject object = dataFactory.objectOf(
+        Map.entry("a", dataFactory.number(1)),
+        Map.entry("b", dataFactory.number(2)),
+        Map.entry("a", dataFactory.number(3))
+    );
+    assertEquals(2, object.size());
+    assertEquals(Optional.of(dataFactory.number(1)), object.get(dataFactory.string("a")));
+  }
+
+  @Test
+  public void api_arrayBuilder() {
+    final JsonArray.Builder builder = dataFactory.arrayBuilder(2);
+    final List<JsonData> expected = new ArrayList<>();
+    for (int i = 0; i < 100; ++i) {
+      builder.add(dataFactory.number(i));
+      expected.add(dataFactory.number(i));
+    }
+    builder.add(null).addAll(List.of(dataFactory.string("a"), dataFactory.string("b")));
+    expected.addAll(List.of(dataFactory.nil(), dataFactory.string("a"), dataFactory.string("b")));
+
+    assertEquals(expected.size(), builder.size());
+    final JsonArray array = builder.build();
+    assertEquals(dataFactory.arrayOf(expected), array);
+    assertEquals(expected, array.asList());
+    assertEquals(expected.subList(1, expected.size()), array.remove(0).asList());
+    assertThrows(IllegalStateException.class, () -> builder.add(dataFactory.nil()));
+    assertThrows(IllegalStateException.class, builder::build);
+    assertSame(dataFactory.arrayOf(), dataFactory.arrayBuilder().build());
+  }
+
+  @Test
+  public void api_objectBuilder() {
+    for (final int size : new int[] { 1, 3, 6, 20 }) {
+      final JsonObject.Builder builder = dataFactory.objectBuilder();
+      final Map<JsonString, JsonData> expected = new LinkedHashMap<>();
+      for (int i = 0; i < size; ++i) {
+        builder.put("field" + i, dataFactory.number(i));
+        expected.put(dataFactory.string("field" + i), dataFactory.number(i));
+      }
+      // a repeated name takes the later value in its original position
+      builder.put(dataFactory.string("field0"), null);
+      expected.put(dataFactory.string("field0"), dataFactory.nil());
+
+      final JsonObject object = builder.build();
+      assertEquals(expected, object.asMap());
+      assertEquals(List.copyOf(expected.keySet()), List.copyOf(object.asMap().keySet()));
+      assertThrows(IllegalStateException.class, () -> builder.put("late", dataFactory.nil()));
+    }
+    assertSame(dataFactory.objectOf(), dataFactory.objectBuilder().build());
+  }
+
+  @Test
+  public void api_longPatchHistory_staysCompact() throws IOException {
+    final SplittableRandom random = new SplittableRandom(50);
+    JsonArray array = dataFactory.arrayOf(IntStream.range(0, 1_000).mapToObj(i -> dataFactory.number(i)));
+    JsonObject object = dataFactory.objectOf();
+    for (int i = 0; i < 50_000; ++i) {
+      final int op = random.nextInt(3);
+      if (0 == op) {
+        array = array.insert(random.nextInt(array.size() + 1), dataFactory.number(i));
+      } else if (1 == op) {
+        array = array.remove(random.nextInt(array.size()));
+      } else {
+        final int index = random.nextInt(array.size());
+        array = array.remove(index).insert(index, dataFactory.number(i));
+      }
+
+      final JsonString name = dataFactory.string("field" + random.nextInt(200));
+      object = random.nextBoolean() ? object.withMapping(name, dataFactory.number(i)) : object.remove(name);
+    }
+
+    // patched values hold about as much as freshly built copies of them, nothing piles up between patches
+    assertTrue(serializedSize(array) < 2 * serializedSize(dataFactory.arrayOf(array.asList())));
+    final JsonObject.Builder fresh = dataFactory.objectBuilder();
+    object.forEach(fresh::put);
+    assertTrue(serializedSize(object) < 2 * serializedSize(fresh.build()));
+
+    for (final JsonString name : List.copyOf(object.asMap().keySet())) { object = object.remove(name); }
+    assertSame(dataFactory.objectOf(), object);
+  }
+
+  private static int serializedSize(final JsonData data) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(data);
+    }
+    return bytes.size();
+  }
 }
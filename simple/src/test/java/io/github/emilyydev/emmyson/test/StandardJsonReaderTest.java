@@ -19,20 +19,37 @@
 package io.github.emilyydev.emmyson.test;
 
 import io.github.emilyydev.emmyson.data.DataFactory;
+import io.github.emilyydev.emmyson.data.DataType;
 import io.github.emilyydev.emmyson.data.JsonData;
 import io.github.emilyydev.emmyson.exception.JsonParseException;
 import io.github.emilyydev.emmyson.exception.MalformedJsonException;
+import io.github.emilyydev.emmyson.io.Compression;
 import io.github.emilyydev.emmyson.io.JsonReader;
+import io.github.emilyydev.emmyson.io.JsonShape;
+import io.github.emilyydev.emmyson.io.JsonSubscriber;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class StandardJsonReaderTest {
 
@@ -47,10 +64,17 @@ public class StandardJsonReaderTest {
     return StandardJsonReaderTest.class.getResourceAsStream(name);
   }
 
+  // through both the in-memory and the stream readers
   private static void assertReadEquals(final JsonData expected, final String in) throws IOException {
     try (final JsonReader reader = dataFactory.createReader(in)) {
       assertEquals(expected, reader.read());
     }
+    try (
+        final InputStream stream = new ByteArrayInputStream(in.getBytes(StandardCharsets.UTF_8));
+        final JsonReader reader = dataFactory.createReader(stream)
+    ) {
+      assertEquals(expected, reader.read());
+    }
   }
 
   private static void assertReadResourceEquals(final JsonData expected, final String name) throws IOException {
@@ -106,6 +130,49 @@ public class StandardJsonReaderTest {
     assertReadEquals(dataFactory.number(123_456.789), "123456.789");
   }
 
+  @Test
+  public void read_number_negative() throws IOException {
+    assertReadEquals(dataFactory.number(-123_456_789L), "-123456789");
+  }
+
+  @Test
+  public void read_number_exponent() throws IOException {
+    assertReadEquals(dataFactory.number(new BigDecimal("-1.5e-3")), "-1.5e-3");
+  }
+
+  @Test
+  public void read_number_exponentWithoutFraction() throws IOException {
+    assertReadEquals(dataFactory.number(new BigDecimal("1e3")), "1e3");
+  }
+
+  @Test
+  public void read_number_inArray() throws IOException {
+    assertReadEquals(
+        dataFactory.arrayOf(dataFactory.number(-1), dataFactory.number(new BigDecimal("-1.5e2"))),
+        "[-1, -1.5e2]"
+    );
+  }
+
+  @Test
+  public void read_number_leadingZero() throws IOException {
+    assertReadEquals(dataFactory.number(0), "0");
+    assertReadEquals(dataFactory.number(new BigDecimal("-0.5e1")), "-0.5e1");
+    for (final String json : new String[] { "[01]", "[-007]", "[0.5, 00]", "[0 1]" }) {
+      final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+      assertThrows(JsonParseException.class, () -> dataFactory.createReader(json).read());
+      assertThrows(JsonParseException.class, () -> dataFactory.createReader(ByteBuffer.wrap(bytes)).read());
+      assertThrows(JsonParseException.class, () -> dataFactory.createReader(new ByteArrayInputStream(bytes)).read());
+      assertTrue(dataFactory.readDoubleArray(json).isFailure());
+      assertTrue(dataFactory.readDoubleArray(ByteBuffer.wrap(bytes)).isFailure());
+      assertTrue(dataFactory.readDoubleArray(new ByteArrayInputStream(bytes)).isFailure());
+    }
+  }
+
+  @Test
+  public void read_number_bigInteger() throws IOException {
+    assertReadEquals(dataFactory.number(new BigInteger("123456789123456789123456789")), "123456789123456789123456789");
+  }
+
   @Test
   public void read_number_integerMalformed() {
     assertThrows(MalformedJsonException.class, () -> {
@@ -144,6 +211,11 @@ public class StandardJsonReaderTest {
     assertReadEquals(dataFactory.string(" abc123~±α👨‍🦲"), "\" abc123~\\u00b1\\u03b1\\ud83d\\udc68\\u200d\\ud83e\\uddb2\"");
   }
 
+  @Test
+  public void read_string_escapedCharactersInTheMiddle() throws IOException {
+    assertReadEquals(dataFactory.string("Hello\t\"world\"!"), "\"Hello\\t\\\"world\\\"!\"");
+  }
+
   @Test
   public void read_invalidString() {
     assertThrows(JsonParseException.class, () -> {
@@ -264,6 +336,24 @@ public class StandardJsonReaderTest {
     );
   }
 
+  @Test
+  public void read_object_repeatedName() throws IOException {
+    final String json = "{ \"first\": 1, \"second\": 2, \"first\": 3 }";
+    final JsonData expected = dataFactory.objectOf(
+        entry("first", dataFactory.number(3)),
+        entry("second", dataFactory.number(2))
+    );
+
+    final byte[] utf8 = json.getBytes(StandardCharsets.UTF_8);
+    assertReadEquals(expected, json);
+    try (final JsonReader reader = dataFactory.createReader(ByteBuffer.wrap(utf8))) {
+      assertEquals(expected, reader.read());
+    }
+    try (final JsonReader reader = dataFactory.createReader(new ByteArrayInputStream(utf8))) {
+      assertEquals(expected, reader.read());
+    }
+  }
+
   @Test
   public void read_object_malformed() {
     assertThrows(JsonParseException.class, () -> {
@@ -284,4 +374,347 @@ public class StandardJsonReaderTest {
       }
     });
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void read_byteBuffer_direct() {
+    final byte[] json = "xx[\"h\u00e9llo \\u00b1 \ud83d\udc68\u200d\ud83e\uddb2\", -1.5, {\"a\": true}]yy".getBytes(StandardCharsets.UTF_8);
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(json.length).put(json).flip().position(2).limit(json.length - 2);
+    assertEquals(
+        dataFactory.arrayOf(
+            dataFactory.string("h\u00e9llo \u00b1 \ud83d\udc68\u200d\ud83e\uddb2"),
+            dataFactory.number(new BigDecimal("-1.5")),
+            dataFactory.objectOf(entry("a", dataFactory.bool(true)))
+        ),
+        dataFactory.read(buffer, DataType.ARRAY).getOrThrow()
+    );
+    assertEquals(json.length - 2, buffer.position());
+  }
+
+  @Test
+  public void read_byteBuffer_malformedUtf8() {
+    final ByteBuffer buffer = ByteBuffer.wrap(new byte[] { '"', (byte) 0xc3, '"' });
+    assertThrows(JsonParseException.class, () -> {
+      try (final JsonReader reader = dataFactory.createReader(buffer)) {
+        reader.read();
+      }
+    });
+  }
+
+  @Test
+  public void mock_byteBufferMatchesStream() throws IOException {
+    final ByteBuffer mock;
+    try (final InputStream stream = resource("mock.json")) {
+      mock = ByteBuffer.wrap(stream.readAllBytes());
+    }
+
+    assertReadResourceEquals(dataFactory.read(mock, DataType.ARRAY).getOrThrow(), "mock.json");
+  }
+
+  @Test
+  public void mock_stringMatchesStream() throws IOException {
+    final String mock;
+    try (final InputStream stream = resource("mock.json")) {
+      mock = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    assertReadResourceEquals(dataFactory.read(mock, DataType.ARRAY).getOrThrow(), "mock.json");
+  }
+
+  @Test
+  public void mock_gzipMatchesStream() throws IOException {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (
+        final InputStream stream = resource("mock.json");
+        final GZIPOutputStream out = new GZIPOutputStream(compressed)
+    ) {
+      stream.transferTo(out);
+    }
+
+    final InputStream in = new ByteArrayInputStream(compressed.toByteArray());
+    assertReadResourceEquals(dataFactory.read(in, Compression.GZIP, DataType.ARRAY).getOrThrow(), "mock.json");
+  }
+
+  @Test
+  public void read_gzip_notCompressed() {
+    final InputStream in = new ByteArrayInputStream("[1, 2, 3]".getBytes(StandardCharsets.UTF_8));
+    assertTrue(dataFactory.read(in, Compression.GZIP, DataType.ARRAY).isFailure());
+  }
+
+  @Test
+  public void read_gzip_sourceIdleAfterFailure() throws IOException {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    final GZIPOutputStream gzip = new GZIPOutputStream(compressed, true);
+    // fails right away, but only once the first chunk is decompressed
+    gzip.write(("]" + " ".repeat(100_000)).getBytes(StandardCharsets.UTF_8));
+    gzip.flush();
+    final int flushed = compressed.size();
+    gzip.close();
+    final byte[] bytes = compressed.toByteArray();
+
+    final AtomicInteger reading = new AtomicInteger();
+    final InputStream in = new ByteArrayInputStream(bytes) {
+      @Override
+      public int read(final byte[] b, final int off, final int len) {
+        reading.incrementAndGet();
+        try {
+          // the rest of the input is slow to arrive
+          if (flushed > this.pos) { return super.read(b, off, Math.min(len, flushed - this.pos)); }
+          Thread.sleep(200);
+          return super.read(b, off, len);
+        } catch (final InterruptedException exception) {
+          throw new AssertionError(exception);
+        } finally {
+          reading.decrementAndGet();
+        }
+      }
+    };
+
+    assertThrows(MalformedJsonException.class, () -> dataFactory.read(in, Compression.GZIP, DataType.ARRAY));
+    assertEquals(0, reading.get());
+  }
+
+  @Test
+  public void read_uncompressed_notClosed() {
+    final boolean[] closed = { false };
+    final InputStream in = new ByteArrayInputStream("[1, 2, 3]".getBytes(StandardCharsets.UTF_8)) {
+      @Override
+      public void close() {
+        closed[0] = true;
+      }
+    };
+    assertTrue(dataFactory.read(in, Compression.NONE, DataType.ARRAY).isSuccess());
+    assertTrue(!closed[0]);
+  }
+
+  @Test
+  public void read_longArray() {
+    final String json = "[ 1, -2,0 , 9223372036854775807, -9223372036854775808 ]";
+    final long[] expected = { 1, -2, 0, Long.MAX_VALUE, Long.MIN_VALUE };
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    assertArrayEquals(expected, dataFactory.readLongArray(json).getOrThrow());
+    assertArrayEquals(expected, dataFactory.readLongArray(ByteBuffer.wrap(bytes)).getOrThrow());
+    assertArrayEquals(expected, dataFactory.readLongArray(new ByteArrayInputStream(bytes)).getOrThrow());
+    assertArrayEquals(new long[0], dataFactory.readLongArray("[ ]").getOrThrow());
+  }
+
+  @Test
+  public void read_intArray_surroundingWhitespace() {
+    for (final String json : new String[] { " [1,2]", "\n[ 1 ,\t2 ]\n" }) {
+      final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+      assertArrayEquals(new int[] { 1, 2 }, dataFactory.readIntArray(json).getOrThrow());
+      assertArrayEquals(new int[] { 1, 2 }, dataFactory.readIntArray(ByteBuffer.wrap(bytes)).getOrThrow());
+      assertArrayEquals(new int[] { 1, 2 }, dataFactory.readIntArray(new ByteArrayInputStream(bytes)).getOrThrow());
+    }
+  }
+
+  @Test
+  public void read_intArray_missingSeparator() {
+    for (final String json : new String[] { "[1 2]", "[1-2]", "[1,]", "[,1]" }) {
+      final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+      assertTrue(dataFactory.readIntArray(json).isFailure());
+      assertTrue(dataFactory.readIntArray(ByteBuffer.wrap(bytes)).isFailure());
+      assertTrue(dataFactory.readIntArray(new ByteArrayInputStream(bytes)).isFailure());
+      assertTrue(dataFactory.readDoubleArray(new ByteArrayInputStream(bytes)).isFailure());
+    }
+  }
+
+  @Test
+  public void read_intArray_notRepresentable() {
+    assertArrayEquals(new int[] { Integer.MAX_VALUE }, dataFactory.readIntArray("[2147483647]").getOrThrow());
+    assertTrue(dataFactory.readIntArray("[2147483648]").isFailure());
+    assertTrue(dataFactory.readIntArray("[1.0]").isFailure());
+    assertTrue(dataFactory.readIntArray("[1, null]").isFailure());
+    final InputStream in = new ByteArrayInputStream("[1, 2.5]".getBytes(StandardCharsets.UTF_8));
+    assertTrue(dataFactory.readIntArray(in).isFailure());
+  }
+
+  @Test
+  public void read_doubleArray() {
+    final String[] numbers = {
+        "0", "-0.0", "1.5", "-0.25e2", "0.1", "3", "123456789012345678", "5e-324", "1e400", "2.2250738585072014E-308",
+        "0.30000000000000004", "1E22", "1e23", "9007199254740993", "-1.7976931348623157e308", "0.000001234e+3"
+    };
+    final double[] expected = new double[numbers.length];
+    for (int i = 0; i < numbers.length; ++i) { expected[i] = Double.parseDouble(numbers[i]); }
+
+    final String json = "[" + String.join(",", numbers) + "]";
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    assertArrayEquals(expected, dataFactory.readDoubleArray(json).getOrThrow());
+    assertArrayEquals(expected, dataFactory.readDoubleArray(ByteBuffer.wrap(bytes)).getOrThrow());
+    assertArrayEquals(expected, dataFactory.readDoubleArray(new ByteArrayInputStream(bytes)).getOrThrow());
+  }
+
+  @Test
+  public void mock_shapedMatchesStream() throws IOException {
+    final JsonShape shape = dataFactory.shapeOf(
+        "uuid", "username", "first_name", "last_name", "email", "gender", "ip_address"
+    );
+    final byte[] mock;
+    try (final InputStream stream = resource("mock.json")) {
+      mock = stream.readAllBytes();
+    }
+
+    final String json = new String(mock, StandardCharsets.UTF_8);
+    assertReadResourceEquals(dataFactory.read(json, shape, DataType.ARRAY).getOrThrow(), "mock.json");
+    assertReadResourceEquals(dataFactory.read(ByteBuffer.wrap(mock), shape, DataType.ARRAY).getOrThrow(), "mock.json");
+  }
+
+  @Test
+  public void read_shaped_deviations() {
+    final JsonShape shape = dataFactory.shapeOf("a", "b\"", "c");
+    final String json = "[{\"a\": 1, \"b\\\"\": 2, \"c\": {\"a\": 3, \"c\": 4}}, {\"a\": 1}, {\"c\": 1, \"a\": 2}, " +
+                        "{\"a\": 1, \"b\\u0022\": 2, \"c\": 3, \"d\": 4}, {}, {\"a\" : 1 , \"b\\\"\":2,\"c\":3}]";
+    final JsonData expected = dataFactory.read(json, DataType.ARRAY).getOrThrow();
+    assertEquals(expected, dataFactory.read(json, shape, DataType.ARRAY).getOrThrow());
+    final ByteBuffer buffer = ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+    assertEquals(expected, dataFactory.read(buffer, shape, DataType.ARRAY).getOrThrow());
+    assertThrows(IllegalArgumentException.class, () -> dataFactory.shapeOf("a", "b", "a"));
+  }
+
+  @Test
+  public void read_shaped_escapedNamePrefix() {
+    // the raw input starts like the shape's name, but is the start of a different escaped name
+    final JsonShape shape = dataFactory.shapeOf("x\\", "y");
+    final String json = "[{\"x\\\":1,\": 2}, {\"x\\\\\": 1, \"y\": 2}]";
+    final JsonData expected = dataFactory.arrayOf(
+        dataFactory.objectOf(entry("x\":1,", dataFactory.number(2))),
+        dataFactory.objectOf(entry("x\\", dataFactory.number(1)), entry("y", dataFactory.number(2)))
+    );
+    assertEquals(expected, dataFactory.read(json, shape, DataType.ARRAY).getOrThrow());
+    final ByteBuffer buffer = ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+    assertEquals(expected, dataFactory.read(buffer, shape, DataType.ARRAY).getOrThrow());
+  }
+
+  @Test
+  public void subscribe_parsesAcrossChunks() throws Exception {
+    final byte[] mock;
+    try (final InputStream stream = resource("mock.json")) {
+      mock = stream.readAllBytes();
+    }
+
+    final JsonData expected = dataFactory.read(ByteBuffer.wrap(mock), DataType.ARRAY).getOrThrow();
+    final JsonSubscriber subscriber = dataFactory.createSubscriber();
+    new ChunkPublisher(mock, 7).subscribe(subscriber);
+    assertEquals(expected, subscriber.result().get());
+
+    final String json = " {\"a\" : [1, {\"b]\": \"},\\\"\"}], \"c\":{}, \"d\": \"\u00e9\"} ";
+    for (int size = 1; size < 4; ++size) {
+      final JsonSubscriber object = dataFactory.createSubscriber();
+      new ChunkPublisher(json.getBytes(StandardCharsets.UTF_8), size).subscribe(object);
+      assertEquals(dataFactory.read(json, DataType.OBJECT).getOrThrow(), object.result().get());
+    }
+
+    final JsonSubscriber scalar = dataFactory.createSubscriber();
+    new ChunkPublisher("  -12.5e3 ".getBytes(StandardCharsets.UTF_8), 2).subscribe(scalar);
+    assertEquals(dataFactory.read("-12.5e3", DataType.NUMBER).getOrThrow(), scalar.result().get());
+  }
+
+  @Test
+  public void subscribe_repeatedName() throws Exception {
+    final String json = "{\"first\": 1, \"second\": 2, \"first\": 3}";
+    final JsonSubscriber subscriber = dataFactory.createSubscriber();
+    new ChunkPublisher(json.getBytes(StandardCharsets.UTF_8), 4).subscribe(subscriber);
+    assertEquals(dataFactory.read(json, DataType.OBJECT).getOrThrow(), subscriber.result().get());
+    assertEquals(
+        dataFactory.objectOf(entry("first", dataFactory.number(3)), entry("second", dataFactory.number(2))),
+        subscriber.result().get()
+    );
+  }
+
+  @Test
+  public void subscribe_malformed() {
+    for (final String json : new String[] { "[1,]", "[1 2]", "{\"a\" 1}", "{\"a\": 1} x", "[1", "", "{1: 2}" }) {
+      final JsonSubscriber subscriber = dataFactory.createSubscriber();
+      final ChunkPublisher publisher = new ChunkPublisher(json.getBytes(StandardCharsets.UTF_8), 2);
+      publisher.subscribe(subscriber);
+      assertTrue(subscriber.result().isCompletedExceptionally(), json);
+    }
+  }
+
+  @Test
+  public void readElements_onDemand() {
+    final List<JsonData> elements = new ArrayList<>();
+    final Flow.Subscription[] subscription = new Flow.Subscription[1];
+    final boolean[] completed = new boolean[1];
+    final byte[] json = "[1, \"[2,\", {\"3\": [3]}, null]".getBytes(StandardCharsets.UTF_8);
+    final ChunkPublisher publisher = new ChunkPublisher(json, 3);
+    dataFactory.readElements(publisher).subscribe(new Flow.Subscriber<>() {
+      @Override
+      public void onSubscribe(final Flow.Subscription s) {
+        subscription[0] = s;
+      }
+
+      @Override
+      public void onNext(final JsonData item) {
+        elements.add(item);
+      }
+
+      @Override
+      public void onError(final Throwable throwable) {
+        throw new AssertionError(throwable);
+      }
+
+      @Override
+      public void onComplete() {
+        completed[0] = true;
+      }
+    });
+
+    subscription[0].request(2);
+    assertEquals(List.of(dataFactory.number(1), dataFactory.string("[2,")), elements);
+    // only as many chunks as needed to get the first two elements were requested
+    assertTrue(publisher.sent < 7);
+    subscription[0].request(5);
+    assertEquals(4, elements.size());
+    assertEquals(dataFactory.objectOf("3", dataFactory.arrayOf(dataFactory.number(3))), elements.get(2));
+    assertTrue(completed[0]);
+  }
+
+  // emits chunks of the given bytes synchronously as they're requested
+  private static final class ChunkPublisher implements Flow.Publisher<ByteBuffer> {
+
+    private final byte[] bytes;
+    private final int chunkSize;
+    int sent = 0;
+
+    ChunkPublisher(final byte[] bytes, final int chunkSize) {
+      this.bytes = bytes;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        private long demand = 0;
+        private boolean emitting = false;
+        private boolean done = false;
+
+        @Override
+        public void request(final long n) {
+          this.demand += n;
+          if (this.emitting) { return; }
+          this.emitting = true;
+          while (!this.done && 0 < this.demand) {
+            final int position = ChunkPublisher.this.sent * ChunkPublisher.this.chunkSize;
+            if (position >= ChunkPublisher.this.bytes.length) {
+              this.done = true;
+              subscriber.onComplete();
+            } else {
+              --this.demand;
+              ++ChunkPublisher.this.sent;
+              final int length = Math.min(ChunkPublisher.this.chunkSize, ChunkPublisher.this.bytes.length - position);
+              subscriber.onNext(ByteBuffer.wrap(ChunkPublisher.this.bytes, position, length));
+            }
+          }
+          this.emitting = false;
+        }
+
+        @Override
+        public void cancel() {
+          this.done = true;
+        }
+      });
+    }
+  }
 }
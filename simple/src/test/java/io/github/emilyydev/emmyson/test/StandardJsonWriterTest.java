@@ -19,14 +19,51 @@
 package io.github.emilyydev.emmyson.test;
 
 import io.github.emilyydev.emmyson.data.DataFactory;
+import io.github.emilyydev.emmyson.data.DataType;
 import io.github.emilyydev.emmyson.data.JsonData;
+import io.github.emilyydev.emmyson.data.JsonRaw;
+import io.github.emilyydev.emmyson.io.Compression;
+import io.github.emilyydev.emmyson.io.JsonGenerator;
+import io.github.emilyydev.emmyson.io.JsonLinesWriter;
+import io.github.emilyydev.emmyson.io.JsonWriter;
+import io.github.emilyydev.emmyson.io.WriterOptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class StandardJsonWriterTest {
 
@@ -45,6 +82,14 @@ public class StandardJsonWriterTest {
     assertEquals(expected, buffer.toString());
   }
 
+  private static String writeToByteBuffer(final JsonData jsonData) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+    dataFactory.write(buffer, jsonData)
+        .map(UncheckedIOException::new)
+        .ifPresent(exception -> { throw exception; });
+    return StandardCharsets.UTF_8.decode(buffer.flip()).toString();
+  }
+
   @Test
   public void write_nullLiteral() {
     assertWriteEquals("null", dataFactory.nil());
@@ -70,6 +115,42 @@ public class StandardJsonWriterTest {
     assertWriteEquals("123456.789", dataFactory.number(123_456.789));
   }
 
+  @Test
+  public void write_number_integerExtremes() {
+    assertWriteEquals(
+        "[0,-1,-9223372036854775808,9223372036854775807,-2147483648,127]",
+        dataFactory.arrayOf(
+            dataFactory.number(0L), dataFactory.number(-1), dataFactory.number(Long.MIN_VALUE),
+            dataFactory.number(Long.MAX_VALUE), dataFactory.number(Integer.MIN_VALUE), dataFactory.number((byte) 127)
+        )
+    );
+  }
+
+  @Test
+  public void write_number_shortestDecimal() {
+    assertWriteEquals(
+        "[1.0E23,2.0E23,4.9E-324,9.9E-324,1.7976931348623157E308,-0.0,1.0E7,9999999.0,0.001,1.0E-4,100.0]",
+        dataFactory.arrayOf(
+            dataFactory.number(1e23), dataFactory.number(2e23), dataFactory.number(Double.MIN_VALUE),
+            dataFactory.number(1e-323), dataFactory.number(Double.MAX_VALUE), dataFactory.number(-0.0),
+            dataFactory.number(1e7), dataFactory.number(9_999_999.0), dataFactory.number(0.001),
+            dataFactory.number(1e-4), dataFactory.number(100.0)
+        )
+    );
+  }
+
+  @Test
+  public void write_number_decimalRoundTrips() {
+    final SplittableRandom random = new SplittableRandom(0x5eed);
+    for (int i = 0; i < 10_000; ++i) {
+      final double d = Double.longBitsToDouble(random.nextLong());
+      if (!Double.isFinite(d)) { continue; }
+      final String written = writeToByteBuffer(dataFactory.number(d));
+      assertEquals(d, Double.parseDouble(written));
+      assertTrue(written.length() <= Double.toString(d).length());
+    }
+  }
+
   @Test
   public void write_string_empty() {
     assertWriteEquals("\"\"", dataFactory.string(""));
@@ -85,6 +166,14 @@ public class StandardJsonWriterTest {
     assertWriteEquals("\"Hello, world!\\n\\/\\\\\"", dataFactory.string("Hello, world!\n/\\"));
   }
 
+  @Test
+  public void write_string_controlAndHtmlCharacters() {
+    assertWriteEquals(
+        "\"a\\u0000b\\u001f\\b\\f\\r\\t\\u0022\\u0026\\u003c\\u003e\\u007fc\"",
+        dataFactory.string("a\u0000b\u001f\b\f\r\t\"&<>\u007fc")
+    );
+  }
+
   @Test
   public void write_string_funnyNonAsciiCharacters() {
     assertWriteEquals("\" abc123~\\u00b1\\u03b1\\ud83d\\udc68\\u200d\\ud83e\\uddb2\"", dataFactory.string(" abc123~±α👨‍🦲"));
@@ -181,4 +270,621 @@ public class StandardJsonWriterTest {
         )
     );
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void write_byteBuffer_matchesAppendable() {
+    final JsonData jsonData = dataFactory.objectOf(
+        entry("first", dataFactory.nil()),
+        entry("second", dataFactory.arrayOf(dataFactory.bool(true), dataFactory.number(123.456))),
+        entry("third", dataFactory.string(" abc123~±α👨‍🦲\n\"<&>"))
+    );
+    final StringBuilder buffer = new StringBuilder();
+    dataFactory.write(buffer, jsonData);
+    assertEquals(buffer.toString(), writeToByteBuffer(jsonData));
+  }
+
+  @Test
+  public void write_largerThanBuffer() {
+    final String element = "\"abcdefghijklmnopqrstuvwxyz\\u00e9\"";
+    assertWriteEquals(
+        '[' + String.join(",", Collections.nCopies(10_000, element)) + ']',
+        dataFactory.arrayOf(Collections.nCopies(10_000, dataFactory.string("abcdefghijklmnopqrstuvwxyz\u00e9")))
+    );
+  }
+
+  @Test
+  public void write_byteBuffer_overflow() {
+    final ByteBuffer buffer = ByteBuffer.allocate(8).position(2);
+    assertTrue(dataFactory.write(buffer, dataFactory.string("Hello, world!")).isPresent());
+    assertEquals(2, buffer.position());
+  }
+
+  @Test
+  public void write_channel() {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final JsonData jsonData = dataFactory.arrayOf(Collections.nCopies(2048, dataFactory.string("Hello, world!")));
+    dataFactory.write(Channels.newChannel(out), jsonData)
+        .map(UncheckedIOException::new)
+        .ifPresent(exception -> { throw exception; });
+    final StringBuilder buffer = new StringBuilder();
+    dataFactory.write(buffer, jsonData);
+    assertEquals(buffer.toString(), out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void write_channel_directBuffers() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final WritableByteChannel channel = new WritableByteChannel() {
+      @Override
+      public int write(final ByteBuffer src) {
+        // no intermediate heap buffers between the writer and the channel
+        assertTrue(src.isDirect());
+        final int length = src.remaining();
+        while (src.hasRemaining()) { out.write(src.get()); }
+        return length;
+      }
+
+      @Override
+      public boolean isOpen() {
+        return true;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+
+    final DataFactory factory = dataFactory.withWriterOptions(WriterOptions.minimal().withParallelThreshold(1000));
+    final JsonData jsonData = factory.arrayOf(
+        factory.arrayOf(Collections.nCopies(4096, factory.string("abc\u00e9\ud83d\udc68"))),
+        factory.raw("[" + "1,".repeat(20_000) + "1]").getOrThrow()
+    );
+    assertTrue(factory.write(channel, jsonData).isEmpty());
+    final StringBuilder expected = new StringBuilder();
+    factory.write(expected, jsonData);
+    assertEquals(expected.toString(), out.toString(StandardCharsets.UTF_8));
+
+    out.reset();
+    try (final JsonGenerator generator = factory.createGenerator(channel)) {
+      generator.beginArray().value("\u00e9").value(1).endArray();
+    }
+    assertEquals("[\"\u00e9\",1]", out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void write_outputStream_matchesAppendable() {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final JsonData jsonData = dataFactory.arrayOf(
+        Collections.nCopies(4096, dataFactory.string(" abc123~\u00b1\u03b1\ud83d\udc68\u200d\ud83e\uddb2\n\"<&>"))
+    );
+    dataFactory.write(out, jsonData)
+        .map(UncheckedIOException::new)
+        .ifPresent(exception -> { throw exception; });
+    final StringBuilder buffer = new StringBuilder();
+    dataFactory.write(buffer, jsonData);
+    assertEquals(buffer.toString(), out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void write_compressed() throws IOException {
+    final JsonData data = dataFactory.arrayOf(
+        Collections.nCopies(50_000, dataFactory.objectOf(entry("h\u00e9llo", dataFactory.string("w\u00f6rld"))))
+    );
+    final StringBuilder expected = new StringBuilder();
+    dataFactory.write(expected, data);
+
+    final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+    assertTrue(dataFactory.write(gzip, Compression.GZIP, data).isEmpty());
+    try (final InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray()))) {
+      assertEquals(expected.toString(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    final ByteArrayOutputStream deflate = new ByteArrayOutputStream();
+    assertTrue(dataFactory.write(deflate, Compression.DEFLATE, data).isEmpty());
+    try (final InputStream in = new InflaterInputStream(new ByteArrayInputStream(deflate.toByteArray()))) {
+      assertEquals(expected.toString(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void write_minimalOptions() throws IOException {
+    final DataFactory minimal = dataFactory.withWriterOptions(WriterOptions.minimal());
+    final JsonData data = dataFactory.objectOf(
+        entry("h\u00e9llo", dataFactory.string("a/b \"&<>\u007f\\\n\u0000 \u00b1\u03b1\ud83d\udc68\ud800"))
+    );
+    final String expected = "{\"h\u00e9llo\":\"a/b \\\"&<>\u007f\\\\\\n\\u0000 \u00b1\u03b1\ud83d\udc68\\ud800\"}";
+
+    final StringBuilder chars = new StringBuilder();
+    assertTrue(minimal.write(chars, data).isEmpty());
+    assertEquals(expected, chars.toString());
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    assertTrue(minimal.write(bytes, data).isEmpty());
+    assertEquals(expected, bytes.toString(StandardCharsets.UTF_8));
+
+    final ByteBuffer buffer = ByteBuffer.allocate(1024);
+    assertTrue(minimal.write(buffer, data).isEmpty());
+    assertEquals(expected, StandardCharsets.UTF_8.decode(buffer.flip()).toString());
+  }
+
+  @Test
+  public void write_options_independent() {
+    final WriterOptions options = WriterOptions.defaults().withEscapeForwardSlash(false);
+    assertEquals(WriterOptions.defaults(), dataFactory.writerOptions());
+    assertEquals(options, dataFactory.withWriterOptions(options).writerOptions());
+
+    final StringBuilder buffer = new StringBuilder();
+    assertTrue(dataFactory.withWriterOptions(options).write(buffer, dataFactory.string("a/\u00e9&")).isEmpty());
+    assertEquals("\"a/\\u00e9\\u0026\"", buffer.toString());
+    assertWriteEquals("\"a\\/\"", dataFactory.string("a/"));
+  }
+
+  @Test
+  public void generate_matchesWriter() throws IOException {
+    final JsonData expected = dataFactory.objectOf(
+        entry("rows", dataFactory.arrayOf(
+            dataFactory.objectOf(entry("id", dataFactory.number(1L)), entry("name", dataFactory.string("a/\u00e9"))),
+            dataFactory.objectOf(entry("id", dataFactory.number(2L)), entry("name", dataFactory.nil()))
+        )),
+        entry("empty", dataFactory.arrayOf(dataFactory.arrayOf(), dataFactory.objectOf())),
+        entry("ratio", dataFactory.number(0.5)),
+        entry("ok", dataFactory.bool(true)),
+        entry("tree", dataFactory.arrayOf(dataFactory.string("x")))
+    );
+    final StringBuilder written = new StringBuilder();
+    dataFactory.write(written, expected);
+
+    final StringBuilder chars = new StringBuilder();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final JsonGenerator charGenerator = dataFactory.createGenerator(chars);
+         final JsonGenerator byteGenerator = dataFactory.createGenerator(bytes)) {
+      for (final JsonGenerator generator : new JsonGenerator[] { charGenerator, byteGenerator }) {
+        generator.beginObject().name("rows").beginArray();
+        for (long id = 1; id <= 2; ++id) {
+          generator.beginObject().name("id").value(id).name("name").value(1 == id ? "a/\u00e9" : null).endObject();
+        }
+        generator.endArray()
+            .name("empty").beginArray().beginArray().endArray().beginObject().endObject().endArray()
+            .name("ratio").value(0.5)
+            .name("ok").value(true)
+            .name("tree").value(dataFactory.arrayOf(dataFactory.string("x")))
+            .endObject();
+      }
+    }
+
+    assertEquals(written.toString(), chars.toString());
+    assertEquals(written.toString(), bytes.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void generate_deepNesting() throws IOException {
+    final StringBuilder out = new StringBuilder();
+    try (final JsonGenerator generator = dataFactory.createGenerator(out)) {
+      for (int i = 0; i < 100; ++i) { generator.beginArray().beginObject().name("a"); }
+      generator.value(1L);
+      for (int i = 0; i < 100; ++i) { generator.endObject().endArray(); }
+    }
+    assertEquals("[{\"a\":".repeat(100) + '1' + "}]".repeat(100), out.toString());
+  }
+
+  @Test
+  public void generate_invalidNesting() throws IOException {
+    final JsonGenerator generator = dataFactory.createGenerator(new StringBuilder());
+    assertThrows(IllegalStateException.class, generator::endArray);
+    assertThrows(IllegalStateException.class, () -> generator.name("a"));
+    generator.beginObject();
+    assertThrows(IllegalStateException.class, () -> generator.value(1L));
+    assertThrows(IllegalStateException.class, generator::endArray);
+    generator.name("a");
+    assertThrows(IllegalStateException.class, () -> generator.name("b"));
+    assertThrows(IllegalStateException.class, generator::endObject);
+    assertThrows(IllegalArgumentException.class, () -> generator.value(Double.NaN));
+    generator.beginArray();
+    assertThrows(IllegalStateException.class, generator::endObject);
+    generator.endArray().endObject();
+    assertThrows(IllegalStateException.class, generator::nullValue);
+  }
+
+  @Test
+  public void write_raw_verbatim() throws IOException {
+    final String fragment = "{\n  \"cafe\" : [1, 2.5e3, \"\\u0041\", \" a  b \"]\r\n}";
+    final JsonRaw raw = dataFactory.raw(fragment).getOrThrow();
+    final JsonRaw encoded = dataFactory.raw(StandardCharsets.UTF_8.encode(fragment)).getOrThrow();
+    final JsonData data = dataFactory.arrayOf(raw, encoded);
+    // only whitespace between tokens is dropped, anything else is copied as it was
+    final String compacted = "{\"cafe\":[1,2.5e3,\"\\u0041\",\" a  b \"]}";
+    assertEquals(compacted, raw.json());
+    assertEquals(compacted, encoded.json());
+    final String expected = '[' + compacted + ',' + compacted + ']';
+
+    assertWriteEquals(expected, data);
+    assertEquals(expected, writeToByteBuffer(data));
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    assertTrue(dataFactory.write(bytes, data).isEmpty());
+    assertEquals(expected, bytes.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void write_raw_escapedPerOptions() throws IOException {
+    final String fragment = "{ \"caf\u00e9\" : [\"<a\\\"b>\", 1] }";
+    final JsonData data = dataFactory.arrayOf(
+        dataFactory.raw(fragment).getOrThrow(),
+        dataFactory.raw(StandardCharsets.UTF_8.encode(fragment)).getOrThrow()
+    );
+    final String escaped = "{\"caf\\u00e9\":[\"\\u003ca\\u0022b\\u003e\",1]}";
+    final String expected = '[' + escaped + ',' + escaped + ']';
+
+    assertWriteEquals(expected, data);
+    assertEquals(expected, writeToByteBuffer(data));
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    assertTrue(dataFactory.write(bytes, data).isEmpty());
+    assertEquals(expected, bytes.toString(StandardCharsets.UTF_8));
+    assertEquals(bytes.size(), dataFactory.serializedLength(data));
+
+    final DataFactory minimal = dataFactory.withWriterOptions(WriterOptions.minimal());
+    final StringBuilder buffer = new StringBuilder();
+    assertTrue(minimal.write(buffer, data).isEmpty());
+    final String compacted = "{\"caf\u00e9\":[\"<a\\\"b>\",1]}";
+    assertEquals('[' + compacted + ',' + compacted + ']', buffer.toString());
+    // the verdict of each option set is kept apart
+    assertWriteEquals(expected, data);
+    // a lone surrogate can't be copied as-is regardless of the options
+    buffer.setLength(0);
+    assertTrue(minimal.write(buffer, dataFactory.raw("\"\ud800\"").getOrThrow()).isEmpty());
+    assertEquals("\"\\ud800\"", buffer.toString());
+  }
+
+  @Test
+  public void write_raw_invalid() {
+    assertTrue(dataFactory.raw("{\"a\":}").isFailure());
+    assertTrue(dataFactory.raw("[1] [2]").isFailure());
+    assertTrue(dataFactory.raw("").isFailure());
+    assertTrue(dataFactory.raw(" [1]\n").isSuccess());
+  }
+
+  @Test
+  public void write_raw_parsedLazily() {
+    final JsonRaw raw = dataFactory.raw("{\"a\":[true,null]}").getOrThrow();
+    assertEquals(raw, raw.as(DataType.RAW).getOrThrow());
+    assertEquals(
+        dataFactory.objectOf(entry("a", dataFactory.arrayOf(dataFactory.bool(true), dataFactory.nil()))),
+        raw.as(DataType.OBJECT).getOrThrow()
+    );
+    assertTrue(raw.as(DataType.ARRAY).isFailure());
+  }
+
+  @Test
+  public void serializedLength_matchesWritten() {
+    final JsonData data = dataFactory.objectOf(
+        entry("one", dataFactory.string(" abc123~\u00b1\u03b1\ud83d\udc68\u200d\ud83e\uddb2 \"&<>/\\\n\u0001\ud800")),
+        entry("two", dataFactory.arrayOf(
+            dataFactory.number(Long.MIN_VALUE), dataFactory.number(1e23), dataFactory.number(0.1f),
+            dataFactory.number(new BigDecimal("1.50")), dataFactory.nil(), dataFactory.bool(false)
+        )),
+        entry("three", dataFactory.raw("{ \"caf\u00e9\": [] }").getOrThrow()),
+        entry("four", dataFactory.objectOf()),
+        entry("five", dataFactory.arrayOf())
+    );
+
+    for (final WriterOptions options : new WriterOptions[] { WriterOptions.defaults(), WriterOptions.minimal() }) {
+      final DataFactory factory = dataFactory.withWriterOptions(options);
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertTrue(factory.write(out, data).isEmpty());
+      assertEquals(out.size(), factory.serializedLength(data));
+      // cached from the previous computation, but only for the same options
+      assertEquals(out.size(), factory.serializedLength(data));
+    }
+  }
+
+  @Test
+  public void write_parallel_matchesSequential() {
+    final JsonData[] rows = new JsonData[5_000];
+    for (int i = 0; i < rows.length; ++i) {
+      rows[i] = dataFactory.objectOf(
+          entry("id", dataFactory.number(i)),
+          entry("name", dataFactory.string("r\u00f6w " + i)),
+          entry("tags", dataFactory.arrayOf(Collections.nCopies(i % 300, dataFactory.bool(0 == i % 2))))
+      );
+    }
+    final JsonData data = dataFactory.objectOf(
+        entry("rows", dataFactory.arrayOf(rows)),
+        entry("empty", dataFactory.arrayOf())
+    );
+    final StringBuilder expected = new StringBuilder();
+    dataFactory.write(expected, data);
+
+    final DataFactory parallel = dataFactory.withWriterOptions(WriterOptions.defaults().withParallelThreshold(2));
+    final StringBuilder chars = new StringBuilder();
+    assertTrue(parallel.write(chars, data).isEmpty());
+    assertEquals(expected.toString(), chars.toString());
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    assertTrue(parallel.write(bytes, data).isEmpty());
+    assertEquals(expected.toString(), bytes.toString(StandardCharsets.UTF_8));
+
+    final ByteBuffer buffer = ByteBuffer.allocate(expected.length());
+    assertTrue(parallel.write(buffer, data).isEmpty());
+    assertEquals(expected.toString(), StandardCharsets.UTF_8.decode(buffer.flip()).toString());
+  }
+
+  @Test
+  public void writeToString_reused() {
+    final JsonData small = dataFactory.objectOf(entry("h\u00e9llo", dataFactory.string("w\u00f6rld/")));
+    final JsonData large = dataFactory.arrayOf(Collections.nCopies(20_000, small));
+    final StringBuilder expectedSmall = new StringBuilder();
+    dataFactory.write(expectedSmall, small);
+    final StringBuilder expectedLarge = new StringBuilder();
+    dataFactory.write(expectedLarge, large);
+
+    final DataFactory minimal = dataFactory.withWriterOptions(WriterOptions.minimal());
+    for (int i = 0; i < 2; ++i) {
+      assertEquals(expectedSmall.toString(), dataFactory.writeToString(small));
+      assertEquals(expectedLarge.toString(), dataFactory.writeToString(large));
+      assertEquals(expectedSmall.toString(), new String(dataFactory.writeToBytes(small), StandardCharsets.UTF_8));
+      assertEquals(expectedLarge.toString(), new String(dataFactory.writeToBytes(large), StandardCharsets.UTF_8));
+      assertEquals("{\"h\u00e9llo\":\"w\u00f6rld/\"}", minimal.writeToString(small));
+    }
+  }
+
+  @Test
+  public void write_async_matchesSync() throws IOException, InterruptedException {
+    final JsonData data = dataFactory.arrayOf(
+        Collections.nCopies(50_000, dataFactory.objectOf(entry("h\u00e9llo", dataFactory.string("w\u00f6rld"))))
+    );
+    final byte[] expected = dataFactory.writeToBytes(data);
+
+    final ByteArrayOutputStream threaded = new ByteArrayOutputStream();
+    try (final JsonWriter writer = dataFactory.createAsyncWriter(threaded)) {
+      writer.write(data);
+      writer.flush();
+      assertArrayEquals(expected, threaded.toByteArray());
+    }
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final ByteArrayOutputStream executed = new ByteArrayOutputStream();
+      try (final JsonWriter writer = dataFactory.createAsyncWriter(executed, executor)) {
+        writer.write(data);
+      }
+      assertArrayEquals(expected, executed.toByteArray());
+    } finally {
+      executor.shutdown();
+    }
+    assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void write_async_failurePropagated() throws IOException {
+    final OutputStream failing = new OutputStream() {
+      @Override
+      public void write(final int b) throws IOException {
+        throw new IOException("disk on fire");
+      }
+
+      @Override
+      public void write(final byte[] b, final int off, final int len) throws IOException {
+        throw new IOException("disk on fire");
+      }
+    };
+
+    final JsonWriter writer = dataFactory.createAsyncWriter(failing);
+    writer.write(dataFactory.arrayOf(Collections.nCopies(1_000, dataFactory.nil())));
+    final IOException exception = assertThrows(IOException.class, writer::flush);
+    assertEquals("disk on fire", exception.getCause().getMessage());
+    assertThrows(IOException.class, writer::close);
+  }
+
+  @Test
+  public void write_async_runtimeFailurePropagated() {
+    final JsonData data = dataFactory.arrayOf(Collections.nCopies(200_000, dataFactory.nil()));
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+        final JsonWriter writer = dataFactory.createAsyncWriter(new FailingOutputStream(0), executor);
+        assertThrows(IOException.class, () -> writer.write(data));
+        final IOException exception = assertThrows(IOException.class, writer::flush);
+        assertTrue(exception.getCause().getCause() instanceof IllegalStateException);
+        assertThrows(IOException.class, writer::close);
+
+        // the GZIP header goes through, the compressed output doesn't and may only be written once finished
+        final JsonWriter gzip = dataFactory.createWriter(new FailingOutputStream(10), Compression.GZIP);
+        assertThrows(IOException.class, () -> {
+          try (gzip) {
+            gzip.write(data);
+            gzip.flush();
+          }
+        });
+      });
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void write_async_interruptedExecutor() throws IOException {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final JsonWriter writer = dataFactory.createAsyncWriter(out, executor);
+    writer.write(dataFactory.nil());
+    writer.flush();
+    executor.shutdownNow();
+
+    final JsonData data = dataFactory.arrayOf(Collections.nCopies(200_000, dataFactory.nil()));
+    assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+      assertThrows(IOException.class, () -> {
+        writer.write(data);
+        writer.flush();
+      });
+      assertThrows(IOException.class, writer::close);
+    });
+  }
+
+  // accepts a number of bytes, then throws an unchecked exception
+  private static final class FailingOutputStream extends OutputStream {
+
+    private int remaining;
+
+    FailingOutputStream(final int accepted) {
+      this.remaining = accepted;
+    }
+
+    @Override
+    public void write(final int b) {
+      if (0 == this.remaining) { throw new IllegalStateException("not writable"); }
+      --this.remaining;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+      if (this.remaining < len) { throw new IllegalStateException("not writable"); }
+      this.remaining -= len;
+    }
+  }
+
+  @Test
+  public void writeLines_stream() {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final Stream<JsonData> lines = IntStream.range(0, 3).mapToObj(i -> dataFactory.objectOf(
+        entry("i", dataFactory.number(i)),
+        entry("text", dataFactory.string("a\nb"))
+    ));
+    assertTrue(dataFactory.writeLines(out, lines).isEmpty());
+    assertEquals(
+        "{\"i\":0,\"text\":\"a\\nb\"}\n{\"i\":1,\"text\":\"a\\nb\"}\n{\"i\":2,\"text\":\"a\\nb\"}\n",
+        out.toString(StandardCharsets.UTF_8)
+    );
+  }
+
+  @Test
+  public void linesWriter_groupFlushing() throws IOException, InterruptedException {
+    final ByteArrayOutputStream bySize = new ByteArrayOutputStream();
+    try (final JsonLinesWriter writer = dataFactory.createLinesWriter(bySize, 64, Duration.ZERO)) {
+      for (int i = 0; i < 10; ++i) { writer.append(dataFactory.string("0123456789")); }
+      // 10 lines of 13 bytes, the first two groups of 64 bytes are already written
+      assertEquals(128, bySize.size());
+    }
+    assertEquals("\"0123456789\"\n".repeat(10), bySize.toString(StandardCharsets.UTF_8));
+
+    final ByteArrayOutputStream byTime = new ByteArrayOutputStream();
+    try (final JsonLinesWriter writer = dataFactory.createLinesWriter(byTime, 1024, Duration.ofMillis(10))) {
+      writer.append(dataFactory.nil());
+      for (int i = 0; i < 500 && 0 == byTime.size(); ++i) { Thread.sleep(10); }
+      assertEquals("null\n", byTime.toString(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void linesWriter_groupFlushingOnExecutor() throws IOException, InterruptedException {
+    final ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(task -> new Thread(task, "lines test flusher"));
+    final List<String> flushingThreads = Collections.synchronizedList(new ArrayList<>());
+    final ByteArrayOutputStream out = new ByteArrayOutputStream() {
+      @Override
+      public void flush() {
+        flushingThreads.add(Thread.currentThread().getName());
+      }
+    };
+    try (final JsonLinesWriter writer = dataFactory.createLinesWriter(out, 1024, Duration.ofMillis(10), executor)) {
+      writer.append(dataFactory.nil());
+      for (int i = 0; i < 500 && flushingThreads.isEmpty(); ++i) { Thread.sleep(10); }
+      assertEquals("null\n", out.toString(StandardCharsets.UTF_8));
+      assertEquals(List.of("lines test flusher"), flushingThreads);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void linesWriter_appendsToFile() throws IOException {
+    final Path path = Files.createTempFile("emmyson", ".jsonl");
+    try {
+      for (int i = 0; i < 2; ++i) {
+        try (final JsonLinesWriter writer = dataFactory.createLinesWriter(path, 1024, Duration.ofSeconds(1))) {
+          writer.append(dataFactory.number(i));
+        }
+      }
+      assertEquals("0\n1\n", Files.readString(path));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  public void publish_boundedChunksOnDemand() {
+    final JsonData jsonData = dataFactory.arrayOf(IntStream.range(0, 5_000).mapToObj(i -> dataFactory.objectOf(
+        entry("i", dataFactory.number(i)),
+        entry("text", dataFactory.string("\u00e9t\u00e9 ".repeat(i % 7))),
+        entry("nested", dataFactory.arrayOf(dataFactory.arrayOf(), dataFactory.objectOf()))
+    )));
+
+    final ChunkCollector collector = new ChunkCollector();
+    dataFactory.publish(jsonData).subscribe(collector);
+    assertEquals(0, collector.chunks.size());
+    collector.subscription.request(1);
+    assertEquals(1, collector.chunks.size());
+    collector.subscription.request(Long.MAX_VALUE);
+
+    assertTrue(collector.completed);
+    assertTrue(2 < collector.chunks.size());
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (final ByteBuffer chunk : collector.chunks) {
+      assertTrue(16 * 1024 >= chunk.remaining());
+      out.write(chunk.array(), chunk.position(), chunk.remaining());
+    }
+    assertArrayEquals(dataFactory.writeToBytes(jsonData), out.toByteArray());
+  }
+
+  @Test
+  public void publish_streamsOnce() {
+    final ChunkCollector array = new ChunkCollector();
+    dataFactory.publishArray(Stream.of(dataFactory.number(1), null, dataFactory.string("\n"))).subscribe(array);
+    array.subscription.request(Long.MAX_VALUE);
+    assertEquals("[1,null,\"\\n\"]", array.joined());
+
+    final var publisher = dataFactory.publishLines(Stream.of(dataFactory.objectOf(), dataFactory.arrayOf()));
+    final ChunkCollector lines = new ChunkCollector();
+    publisher.subscribe(lines);
+    lines.subscription.request(Long.MAX_VALUE);
+    assertEquals("{}\n[]\n", lines.joined());
+
+    final ChunkCollector again = new ChunkCollector();
+    publisher.subscribe(again);
+    assertTrue(again.failure instanceof IllegalStateException);
+  }
+
+  private static final class ChunkCollector implements Flow.Subscriber<ByteBuffer> {
+
+    final List<ByteBuffer> chunks = new ArrayList<>();
+    Flow.Subscription subscription;
+    Throwable failure;
+    boolean completed;
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(final ByteBuffer item) {
+      this.chunks.add(item);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      this.failure = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      this.completed = true;
+    }
+
+    String joined() {
+      assertTrue(this.completed);
+      final StringBuilder builder = new StringBuilder();
+      for (final ByteBuffer chunk : this.chunks) { builder.append(StandardCharsets.UTF_8.decode(chunk)); }
+      return builder.toString();
+    }
+  }
 }